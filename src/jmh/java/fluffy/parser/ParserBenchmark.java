@@ -0,0 +1,48 @@
+package fluffy.parser;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import fluffy.FluffyException;
+import fluffy.command.Command;
+
+/**
+ * Measures the time to parse one line of user input into a command, for each type of command.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParserBenchmark {
+    private static final Map<String, String> INPUTS = Map.of(
+            "todo", "todo read the entire book before the next meeting",
+            "deadline", "deadline return book to the library /by 2024-06-01",
+            "event", "event project meeting with the team /from 2024-06-01 /to 2024-06-03",
+            "mark", "mark 42",
+            "delete", "delete 3-400",
+            "find", "find book",
+            "list", "list");
+
+    @Param({"todo", "deadline", "event", "mark", "delete", "find", "list"})
+    protected String commandType;
+
+    private String input;
+
+    @Setup
+    public void setUp() {
+        input = INPUTS.get(commandType);
+    }
+
+    @Benchmark
+    public Command parse() throws FluffyException {
+        return Parser.parse(input);
+    }
+}
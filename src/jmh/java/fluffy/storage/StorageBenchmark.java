@@ -0,0 +1,82 @@
+package fluffy.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import fluffy.FluffyException;
+import fluffy.task.Task;
+import fluffy.tasklist.BenchmarkTasks;
+import fluffy.tasklist.TaskList;
+
+/**
+ * Measures the time to save and load a whole data file, in the text and binary formats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    protected int taskCount;
+
+    @Param({"txt", "bin"})
+    protected String format;
+
+    private Path directory;
+    private Storage loadStorage;
+    private Storage saveStorage;
+    private TaskList tasks;
+
+    /**
+     * Creates the tasks, and a data file holding them to be loaded.
+     *
+     * @throws IOException If the directory for the data files cannot be created.
+     * @throws FluffyException If the data file cannot be written.
+     */
+    @Setup
+    public void setUp() throws IOException, FluffyException {
+        directory = Files.createTempDirectory("fluffy-benchmark");
+        tasks = new TaskList(BenchmarkTasks.create(taskCount));
+        loadStorage = new Storage(directory.resolve("load." + format).toString());
+        loadStorage.save(tasks);
+        saveStorage = new Storage(directory.resolve("save." + format).toString());
+    }
+
+    /**
+     * Deletes the data files.
+     *
+     * @throws IOException If the data files cannot be deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Task> load() throws FluffyException {
+        return loadStorage.load();
+    }
+
+    @Benchmark
+    public void save() throws FluffyException {
+        saveStorage.save(tasks);
+    }
+}
@@ -0,0 +1,63 @@
+package fluffy.storage;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import fluffy.FluffyException;
+import fluffy.task.Deadline;
+import fluffy.task.Event;
+import fluffy.task.Task;
+import fluffy.task.Todo;
+
+/**
+ * Measures the time to encode one task as a line of the data file and to decode it back, for each type of task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskCodecBenchmark {
+    @Param({"T", "D", "E"})
+    protected String taskType;
+
+    private final Storage storage = new Storage("unused");
+    private Task task;
+    private String encodedTask;
+
+    /**
+     * Creates the task to be encoded and its encoded line to be decoded.
+     */
+    @Setup
+    public void setUp() {
+        switch (taskType) {
+        case "D":
+            task = new Deadline("return book to the library", LocalDate.of(2024, 6, 1));
+            break;
+        case "E":
+            task = new Event("project meeting with the team", LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 3));
+            break;
+        default:
+            task = new Todo("read the entire book before the next meeting");
+            break;
+        }
+        encodedTask = storage.encodeTask(task);
+    }
+
+    @Benchmark
+    public String encodeTask() {
+        return storage.encodeTask(task);
+    }
+
+    @Benchmark
+    public Task decodeTask() throws FluffyException {
+        return storage.decodeTask(encodedTask);
+    }
+}
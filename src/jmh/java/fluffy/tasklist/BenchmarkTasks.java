@@ -0,0 +1,48 @@
+package fluffy.tasklist;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import fluffy.task.Deadline;
+import fluffy.task.Event;
+import fluffy.task.Task;
+import fluffy.task.Todo;
+
+/**
+ * Represents the tasks used by the benchmarks: an even mix of todos, deadlines and events,
+ * a third of them done, with dates spread over two years.
+ */
+public class BenchmarkTasks {
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+    private static final int DAYS_SPREAD = 730;
+
+    private BenchmarkTasks() {
+    }
+
+    /**
+     * Creates the same tasks every time for a given count.
+     *
+     * @param taskCount The number of tasks.
+     * @return The tasks.
+     */
+    public static List<Task> create(int taskCount) {
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            LocalDate date = FIRST_DATE.plusDays(i % DAYS_SPREAD);
+            boolean isDone = i % 3 == 0;
+            switch (i % 3) {
+            case 0:
+                tasks.add(new Todo("read chapter " + i + " of the book", isDone));
+                break;
+            case 1:
+                tasks.add(new Deadline("submit assignment " + i, date, isDone));
+                break;
+            default:
+                tasks.add(new Event("attend workshop " + i, date, date.plusDays(2), isDone));
+                break;
+            }
+        }
+        return tasks;
+    }
+}
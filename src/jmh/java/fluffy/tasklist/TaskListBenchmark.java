@@ -0,0 +1,75 @@
+package fluffy.tasklist;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import fluffy.FluffyException;
+import fluffy.task.Task;
+
+/**
+ * Measures the operations on a task list that depend on its size, for each way of storing the tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    protected int taskCount;
+
+    @Param({"persistent", "columnar"})
+    protected String backend;
+
+    private TaskList tasks;
+
+    /**
+     * Creates the task list with the backend being measured, keeping the default number of revisions to undo.
+     */
+    @Setup
+    public void setUp() {
+        switch (backend) {
+        case "columnar":
+            tasks = new TaskList(new ColumnarTaskStore(BenchmarkTasks.create(taskCount)));
+            break;
+        default:
+            tasks = new TaskList(new PersistentTaskTree(BenchmarkTasks.create(taskCount)));
+            break;
+        }
+    }
+
+    @Benchmark
+    public TaskList filterTasks() {
+        return tasks.filterTasks(Task::isDone);
+    }
+
+    @Benchmark
+    public HashMap<String, Integer> getTaskBreakdown() {
+        return tasks.getTaskBreakdown();
+    }
+
+    /**
+     * Deletes the task in the middle of the list, then adds it back at the end so the size stays the same.
+     * The changes are committed as one revision, as they are after every command, so that the changes kept for
+     * undo do not pile up across invocations.
+     *
+     * @return The task that was deleted.
+     * @throws FluffyException If the index is out of bounds.
+     */
+    @Benchmark
+    public Task deleteTask() throws FluffyException {
+        int middle = tasks.getSize() / 2;
+        Task task = tasks.getTask(middle);
+        tasks.deleteTask(middle);
+        tasks.addTask(task);
+        tasks.commitRevision();
+        return task;
+    }
+}
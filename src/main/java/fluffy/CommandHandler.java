@@ -0,0 +1,104 @@
+package fluffy;
+
+import java.time.LocalDate;
+
+import fluffy.command.Command;
+import fluffy.metrics.CommandEvent;
+import fluffy.metrics.Metrics;
+import fluffy.metrics.ParseEvent;
+import fluffy.parser.Parser;
+import fluffy.storage.Storage;
+import fluffy.tasklist.TaskList;
+import fluffy.ui.Ui;
+
+/**
+ * Represents the handling of one line of user input, shared by the window and the headless runner.
+ * Parsing and executing are timed into {@link Metrics} under the class name of the command, and are reported to
+ * Java Flight Recorder as {@link ParseEvent} and {@link CommandEvent}.
+ */
+public class CommandHandler {
+    private final TaskList tasks;
+    private final Ui ui;
+    private final Storage storage;
+
+    /**
+     * Constructor for CommandHandler.
+     *
+     * @param tasks The list of tasks that commands are executed on.
+     * @param ui The user interface that commands respond to.
+     * @param storage The storage of the tasks.
+     */
+    public CommandHandler(TaskList tasks, Ui ui, Storage storage) {
+        this.tasks = tasks;
+        this.ui = ui;
+        this.storage = storage;
+    }
+
+    /**
+     * Parses user input and executes the command, holding the lock on the list of tasks while it executes, then
+     * lets the command finish any work that does not use the list after the lock is released.
+     * The changes the command makes are sealed into one revision, so that an undo takes them back together.
+     *
+     * @param input The input from the user.
+     * @return The command executed.
+     * @throws FluffyException If the input is invalid or the command fails.
+     */
+    public Command handle(String input) throws FluffyException {
+        ParseEvent parseEvent = new ParseEvent();
+        parseEvent.begin();
+        long parseStart = Metrics.start();
+        Command c;
+        try {
+            c = Parser.parse(input);
+        } catch (FluffyException e) {
+            parseEvent.finish(null, input.length(), tasks.getSize());
+            throw e;
+        }
+        String commandName = c.getClass().getSimpleName();
+        Metrics.record(commandName, Metrics.Stage.PARSE, parseStart);
+        parseEvent.finish(commandName, input.length(), tasks.getSize());
+
+        long executeStart = Metrics.start();
+        try {
+            synchronized (tasks) {
+                Metrics.setCurrentCommand(commandName, tasks.getSize());
+                CommandEvent commandEvent = new CommandEvent();
+                commandEvent.begin();
+                try {
+                    c.execute(tasks, ui, storage);
+                } finally {
+                    tasks.commitRevision();
+                    commandEvent.finish(commandName, tasks.getSize());
+                    Metrics.clearCurrentCommand();
+                }
+            }
+            c.executeUnlocked(ui, storage);
+        } finally {
+            Metrics.record(commandName, Metrics.Stage.EXECUTE, executeStart);
+        }
+        return c;
+    }
+
+    /**
+     * Moves the tasks that were marked as done more than a number of days ago to the archive, holding the lock on
+     * the list of tasks while they are moved. Changes made before can no longer be undone, since an undo could
+     * otherwise put archived tasks back in the list.
+     *
+     * @param afterDays The number of days after which done tasks are archived, or a negative number to do nothing.
+     * @return The number of tasks archived.
+     * @throws FluffyException If the tasks cannot be written to the archive, in which case none are moved.
+     */
+    public int archiveDoneTasks(int afterDays) throws FluffyException {
+        if (afterDays < 0) {
+            return 0;
+        }
+        synchronized (tasks) {
+            int archivedCount = storage.getArchive()
+                    .archiveTasksDoneBefore(tasks, LocalDate.now().minusDays(afterDays)).size();
+            if (archivedCount > 0) {
+                tasks.clearHistory();
+            }
+            return archivedCount;
+        }
+    }
+}
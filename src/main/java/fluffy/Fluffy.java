@@ -1,5 +1,9 @@
 package fluffy;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
 import javafx.application.Application;
 
 /**
@@ -9,7 +13,23 @@ import javafx.application.Application;
  */
 public class Fluffy {
 
-    public static void main(String[] args) {
+    /**
+     * Starts Fluffy in a window, or without one if {@code --headless} or {@code --script <file>} is given.
+     * With {@code --server}, Fluffy serves its tasks to clients on the local machine instead.
+     *
+     * @param args The command line arguments.
+     * @throws IOException If the commands cannot be read when running without a window.
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> argList = Arrays.asList(args);
+        if (argList.contains("--server")) {
+            FluffyServer.main(args);
+            return;
+        }
+        if (argList.contains("--headless") || argList.contains("--script")) {
+            FluffyCli.main(args);
+            return;
+        }
         Application.launch(FluffyApp.class);
     }
 }
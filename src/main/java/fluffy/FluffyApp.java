@@ -1,10 +1,16 @@
 package fluffy;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
 import fluffy.command.Command;
-import fluffy.parser.Parser;
+import fluffy.metrics.MetricsReporter;
 import fluffy.storage.Storage;
+import fluffy.storage.WriteBehindSaver;
 import fluffy.tasklist.TaskList;
-import fluffy.ui.Ui;
+import fluffy.ui.FxUi;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
@@ -12,25 +18,53 @@ import javafx.stage.Stage;
  * The Main app for Fluffy.
  */
 public class FluffyApp extends Application {
+    private static final Logger LOGGER = Logger.getLogger(FluffyApp.class.getName());
+    private static final long COMMAND_TIMEOUT_SECONDS = 5;
 
     private Storage storage;
     private TaskList tasks;
-    private Ui ui;
-
-    private String filePath = "data/fluffy.txt";
+    private FxUi ui;
+    private WriteBehindSaver saver;
+    private CommandHandler commandHandler;
+    private MetricsReporter metricsReporter;
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fluffy-command");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * Constructor for FluffyApp.
      */
     public FluffyApp() {
-        ui = new Ui(this::handler);
-        storage = new Storage(filePath);
+        ui = new FxUi(this::submit);
+        storage = FluffyConfig.createStorage();
         try {
-            tasks = new TaskList(storage.load());
+            tasks = FluffyConfig.createTaskList(storage.load());
+            LOGGER.info(storage.getLastLoadReport().toString());
         } catch (FluffyException e) {
             ui.showLoadingError();
             tasks = new TaskList();
         }
+        storage.attach(tasks);
+        commandHandler = new CommandHandler(tasks, ui, storage);
+        saver = new WriteBehindSaver(storage, tasks,
+                WriteBehindSaver.Durability.fromName(System.getProperty("fluffy.durability", "command")),
+                Long.getLong("fluffy.saveInterval", 1000), ui::showError);
+        metricsReporter = FluffyConfig.createMetricsReporter();
+        metricsReporter.start();
+        // Archiving reads every task, so it runs after the window is up rather than before.
+        commandExecutor.execute(this::archiveDoneTasks);
+    }
+
+    /**
+     * Queues user input to be handled off the JavaFX application thread, so that the window stays responsive
+     * during slow commands and saves. Input is handled one at a time, in the order it was entered.
+     *
+     * @param input the input from a user.
+     */
+    public void submit(String input) {
+        commandExecutor.execute(() -> handler(input));
     }
 
     /**
@@ -44,10 +78,10 @@ public class FluffyApp extends Application {
         assert storage != null : "storage should not be null";
 
         try {
-            Command c = Parser.parse(input);
-            c.execute(tasks, ui, storage);
-            storage.save(tasks);
+            Command c = commandHandler.handle(input);
+            saver.requestSave(c.getClass().getSimpleName());
             if (c.isExit()) {
+                saver.close();
                 ui.exit();
             }
         } catch (FluffyException e) {
@@ -55,8 +89,43 @@ public class FluffyApp extends Application {
         }
     }
 
+    private void archiveDoneTasks() {
+        try {
+            int archivedCount = commandHandler.archiveDoneTasks(FluffyConfig.getArchiveAfterDays());
+            if (archivedCount > 0) {
+                LOGGER.info("Archived " + archivedCount + " done tasks");
+                saver.requestSave(null);
+            }
+        } catch (FluffyException e) {
+            ui.showError(e.getMessage());
+        }
+    }
+
     @Override
     public void start(Stage stage) {
         ui.start(stage);
     }
+
+    /**
+     * Saves any unsaved changes, stops reporting metrics and closes the chat transcript when the window is closed
+     * or the user says bye.
+     */
+    @Override
+    public void stop() {
+        commandExecutor.shutdown();
+        try {
+            if (!commandExecutor.awaitTermination(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warning("Commands still running at exit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            saver.close();
+        } catch (FluffyException e) {
+            ui.showError(e.getMessage());
+        }
+        metricsReporter.close();
+        ui.stop();
+    }
 }
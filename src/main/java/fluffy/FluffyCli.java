@@ -0,0 +1,119 @@
+package fluffy;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import fluffy.command.Command;
+import fluffy.metrics.Metrics;
+import fluffy.metrics.MetricsReporter;
+import fluffy.storage.Storage;
+import fluffy.tasklist.TaskList;
+import fluffy.ui.TextUi;
+
+/**
+ * Represents Fluffy running without a window, reading one command per line from a script or standard input.
+ * Responses are written as text, and the tasks are saved once after the last command instead of after each one.
+ */
+public class FluffyCli {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Storage storage;
+    private final TextUi ui;
+
+    /**
+     * Constructor for FluffyCli.
+     *
+     * @param storage The storage to load the tasks from and save them to.
+     * @param ui The user interface to write responses to.
+     */
+    public FluffyCli(Storage storage, TextUi ui) {
+        this.storage = storage;
+        this.ui = ui;
+    }
+
+    /**
+     * Runs Fluffy without a window.
+     * With {@code --script <file>}, commands are read from the file, otherwise from standard input.
+     *
+     * @param args The command line arguments.
+     * @throws IOException If the commands cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        PrintWriter output = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), BUFFER_SIZE));
+        FluffyCli cli = new FluffyCli(FluffyConfig.createStorage(), new TextUi(output));
+        MetricsReporter metricsReporter = FluffyConfig.createMetricsReporter();
+        metricsReporter.start();
+        int scriptIndex = Arrays.asList(args).indexOf("--script");
+        try (BufferedReader input = scriptIndex >= 0 && scriptIndex + 1 < args.length
+                ? Files.newBufferedReader(Paths.get(args[scriptIndex + 1]), StandardCharsets.UTF_8)
+                : new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            cli.run(input);
+        } finally {
+            metricsReporter.close();
+        }
+    }
+
+    /**
+     * Runs every command from the input until it ends or a command exits, then saves the tasks once.
+     *
+     * @param input The commands, one per line.
+     * @throws IOException If the commands cannot be read.
+     */
+    public void run(BufferedReader input) throws IOException {
+        TaskList tasks;
+        try {
+            tasks = FluffyConfig.createTaskList(storage.load());
+        } catch (FluffyException e) {
+            ui.showLoadingError();
+            tasks = new TaskList();
+        }
+        storage.attach(tasks);
+        CommandHandler commandHandler = new CommandHandler(tasks, ui, storage);
+        ui.showWelcome();
+        long modificationCountAtLoad = tasks.getModificationCount();
+        try {
+            commandHandler.archiveDoneTasks(FluffyConfig.getArchiveAfterDays());
+        } catch (FluffyException e) {
+            ui.showError(e.getMessage());
+        }
+        // The save at the end is reported as following the last command that changed the tasks.
+        String lastCommandType = null;
+        String line;
+        while ((line = input.readLine()) != null) {
+            try {
+                long modificationCount = tasks.getModificationCount();
+                Command c = commandHandler.handle(line);
+                if (tasks.getModificationCount() != modificationCount) {
+                    lastCommandType = c.getClass().getSimpleName();
+                }
+                if (c.isExit()) {
+                    break;
+                }
+            } catch (FluffyException e) {
+                ui.showError(e.getMessage());
+            }
+        }
+        if (tasks.getModificationCount() != modificationCountAtLoad) {
+            try {
+                long saveStart = Metrics.start();
+                storage.prepareSave(tasks, lastCommandType).write();
+                Metrics.record(lastCommandType != null ? lastCommandType : storage.getClass().getSimpleName(),
+                        Metrics.Stage.SAVE, saveStart);
+            } catch (FluffyException e) {
+                ui.showError(e.getMessage());
+            }
+        }
+        ui.exit();
+    }
+}
@@ -0,0 +1,124 @@
+package fluffy;
+
+import java.util.List;
+
+import fluffy.metrics.MetricsReporter;
+import fluffy.storage.JournalStorage;
+import fluffy.storage.SegmentedStorage;
+import fluffy.storage.Storage;
+import fluffy.task.Task;
+import fluffy.tasklist.ColumnarTaskStore;
+import fluffy.tasklist.LazyTaskList;
+import fluffy.tasklist.PersistentTaskTree;
+import fluffy.tasklist.TaskList;
+
+/**
+ * Represents the settings Fluffy is started with, read from system properties such as {@code -Dfluffy.storage}.
+ * It is shared by the window and the headless runner, and does not depend on JavaFX.
+ */
+public class FluffyConfig {
+    private static final String LAZY_BACKEND = "lazy";
+
+    private FluffyConfig() {
+    }
+
+    /**
+     * Retrieves the path of the data file. {@code -Dfluffy.format=binary} uses the binary format.
+     *
+     * @return The path of the data file.
+     */
+    public static String getFilePath() {
+        return "binary".equals(System.getProperty("fluffy.format"))
+                ? "data/fluffy.bin"
+                : "data/fluffy.txt";
+    }
+
+    /**
+     * Creates the storage for the storage mode set with {@code -Dfluffy.storage=<mode>}.
+     * "journal" appends each change to a journal, "segmented" rewrites only the segments of the file that changed,
+     * and anything else rewrites the whole file on every save. The "lazy" backend also makes the storage load text
+     * files lazily.
+     *
+     * @return The storage for the mode.
+     */
+    public static Storage createStorage() {
+        Storage storage;
+        switch (System.getProperty("fluffy.storage", "plain")) {
+        case "journal":
+            storage = new JournalStorage(getFilePath());
+            break;
+        case "segmented":
+            storage = new SegmentedStorage(getFilePath());
+            break;
+        default:
+            storage = new Storage(getFilePath());
+            break;
+        }
+        storage.setLazy(LAZY_BACKEND.equals(getBackend()));
+        return storage;
+    }
+
+    /**
+     * Creates the task list for the backend set with {@code -Dfluffy.backend=<backend>}.
+     * "columnar" stores tasks in primitive arrays to use less memory, "lazy" keeps the lines of the file loaded
+     * lazily and only decodes the tasks that are used, and anything else keeps task objects in a persistent tree
+     * indexed by position, whose earlier versions make undo take O(1) time.
+     * The number of commands that can be undone is set with {@code -Dfluffy.undoLimit=<count>} (default 100).
+     *
+     * @param loadedTasks The tasks loaded from storage.
+     * @return The task list for the backend.
+     */
+    public static TaskList createTaskList(List<Task> loadedTasks) {
+        TaskList tasks;
+        switch (getBackend()) {
+        case "columnar":
+            tasks = new TaskList(new ColumnarTaskStore(loadedTasks));
+            break;
+        case LAZY_BACKEND:
+            // Storage that could not load lazily, such as binary files or a journal, still gives task objects.
+            tasks = loadedTasks instanceof LazyTaskList
+                    ? new TaskList(loadedTasks)
+                    : new TaskList(toTree(loadedTasks));
+            break;
+        default:
+            tasks = new TaskList(toTree(loadedTasks));
+            break;
+        }
+        tasks.setUndoLimit(Integer.getInteger("fluffy.undoLimit", 100));
+        return tasks;
+    }
+
+    /**
+     * Creates the reporter that appends latency metrics to {@code data/metrics.jsonl} every
+     * {@code -Dfluffy.metricsInterval} milliseconds (default 60000), and once more on exit.
+     *
+     * @return The metrics reporter, which has not been started.
+     */
+    public static MetricsReporter createMetricsReporter() {
+        return new MetricsReporter("data/metrics.jsonl", Long.getLong("fluffy.metricsInterval", 60_000));
+    }
+
+    /**
+     * Retrieves how many days after being marked as done tasks are moved to the archive, set with
+     * {@code -Dfluffy.archiveAfterDays=<days>}. Archiving is off unless this is set, since it reads every task at
+     * startup, which would undo the fast startup of lazy loading.
+     *
+     * @return The number of days, or a negative number if tasks are never archived.
+     */
+    public static int getArchiveAfterDays() {
+        return Integer.getInteger("fluffy.archiveAfterDays", -1);
+    }
+
+    private static String getBackend() {
+        return System.getProperty("fluffy.backend", "objects");
+    }
+
+    /**
+     * Returns the loaded tasks as a persistent tree, using them as they are if the storage already loaded a tree.
+     */
+    private static PersistentTaskTree toTree(List<Task> loadedTasks) {
+        return loadedTasks instanceof PersistentTaskTree
+                ? (PersistentTaskTree) loadedTasks
+                : new PersistentTaskTree(loadedTasks);
+    }
+}
@@ -0,0 +1,159 @@
+package fluffy;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import fluffy.metrics.LatencyHistogram;
+
+/**
+ * Represents a load generator for {@link FluffyServer}, which opens a number of connections at once and sends
+ * commands on each as fast as the server answers them, then reports the throughput and latency of all commands.
+ * Each connection adds todos and searches for the ones it added, so that the list grows as the load runs.
+ */
+public class FluffyLoadClient {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final int port;
+    private final int clientCount;
+    private final int commandsPerClient;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    /**
+     * Constructor for FluffyLoadClient.
+     *
+     * @param port The port the server listens on.
+     * @param clientCount The number of connections sending commands at once.
+     * @param commandsPerClient The number of commands each connection sends.
+     */
+    public FluffyLoadClient(int port, int clientCount, int commandsPerClient) {
+        this.port = port;
+        this.clientCount = clientCount;
+        this.commandsPerClient = commandsPerClient;
+    }
+
+    /**
+     * Runs the load against a server on the local machine.
+     * With {@code --clients <count>} and {@code --commands <count>}, sets the number of connections (default 8)
+     * and the commands sent by each (default 1000). The port is set with {@code -Dfluffy.port=<port>}.
+     *
+     * @param args The command line arguments.
+     * @throws IOException If a connection to the server fails.
+     */
+    public static void main(String[] args) throws IOException {
+        int clientCount = 8;
+        int commandsPerClient = 1000;
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (args[i].equals("--clients")) {
+                clientCount = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--commands")) {
+                commandsPerClient = Integer.parseInt(args[i + 1]);
+            }
+        }
+        FluffyLoadClient client = new FluffyLoadClient(Integer.getInteger("fluffy.port", FluffyServer.DEFAULT_PORT),
+                clientCount, commandsPerClient);
+        System.out.println(client.run());
+    }
+
+    /**
+     * Sends the commands of every connection, starting them all together once every connection is open.
+     *
+     * @return A summary of the throughput and latency of the commands.
+     * @throws IOException If a connection to the server fails.
+     */
+    public String run() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(clientCount);
+        CountDownLatch ready = new CountDownLatch(clientCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < clientCount; i++) {
+                int clientNumber = i;
+                clients.add(executor.submit(() -> {
+                    runClient(clientNumber, ready, start);
+                    return null;
+                }));
+            }
+            ready.await();
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<Void> client : clients) {
+                client.get();
+            }
+            return summarize(System.nanoTime() - startNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the clients", e);
+        } catch (ExecutionException e) {
+            throw new IOException("A client failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runClient(int clientNumber, CountDownLatch ready, CountDownLatch start)
+            throws IOException, InterruptedException {
+        boolean isReady = false;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                BufferedReader input = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                        StandardCharsets.UTF_8));
+                PrintWriter output = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+                        socket.getOutputStream(), StandardCharsets.UTF_8)))) {
+            socket.setTcpNoDelay(true);
+            readResponse(input);
+            isReady = true;
+            ready.countDown();
+            start.await();
+            for (int i = 0; i < commandsPerClient; i++) {
+                String description = "load " + clientNumber + "-" + (i / 2);
+                long commandStart = System.nanoTime();
+                output.write((i % 2 == 0 ? "todo " : "find ") + description + "\n");
+                output.flush();
+                readResponse(input);
+                latencies.record(System.nanoTime() - commandStart);
+            }
+            output.write("bye\n");
+            output.flush();
+            readResponse(input);
+        } finally {
+            if (!isReady) {
+                // Never leave the run waiting for a client that failed to connect.
+                ready.countDown();
+            }
+        }
+    }
+
+    private static void readResponse(BufferedReader input) throws IOException {
+        String line;
+        while ((line = input.readLine()) != null) {
+            if (line.equals(FluffyServer.END_OF_RESPONSE)) {
+                return;
+            }
+        }
+        throw new IOException("The server closed the connection");
+    }
+
+    private String summarize(long elapsedNanos) {
+        long commandCount = latencies.getCount();
+        return String.format(Locale.ROOT, "%d clients, %d commands in %.2f s: %.0f commands/s%n"
+                + "Latency (p50 / p99 / max in ms): %.2f / %.2f / %.2f", clientCount, commandCount,
+                elapsedNanos / NANOS_PER_SECOND, commandCount * NANOS_PER_SECOND / elapsedNanos,
+                latencies.getPercentile(0.5) / NANOS_PER_MILLI, latencies.getPercentile(0.99) / NANOS_PER_MILLI,
+                latencies.getMax() / NANOS_PER_MILLI);
+    }
+}
@@ -0,0 +1,201 @@
+package fluffy;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import fluffy.command.Command;
+import fluffy.metrics.MetricsReporter;
+import fluffy.storage.Storage;
+import fluffy.storage.WriteBehindSaver;
+import fluffy.tasklist.TaskList;
+import fluffy.ui.TextUi;
+
+/**
+ * Represents Fluffy serving one shared list of tasks to several clients over TCP on the local machine.
+ * Clients send one command per line, in the same format as the window, and each response is written as text
+ * followed by a line holding only {@link #END_OF_RESPONSE}. Every connection is served by its own thread, while
+ * commands from all connections take turns on the lock of the list of tasks, as they do in the window.
+ */
+public class FluffyServer implements AutoCloseable {
+    /** The line that ends every response, which no response line can be on its own. */
+    public static final String END_OF_RESPONSE = ".";
+    /** The port the server listens on unless {@code -Dfluffy.port} is set. */
+    public static final int DEFAULT_PORT = 4040;
+
+    private static final Logger LOGGER = Logger.getLogger(FluffyServer.class.getName());
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    private final Storage storage;
+    private final TaskList tasks;
+    private final WriteBehindSaver saver;
+    private final ServerSocket serverSocket;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    /**
+     * Constructor for FluffyServer. Loads the tasks and starts listening, but does not accept connections until
+     * {@link #serve()} is called.
+     *
+     * @param storage The storage to load the tasks from and save them to.
+     * @param port The port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be listened on.
+     */
+    public FluffyServer(Storage storage, int port) throws IOException {
+        this.storage = storage;
+        TaskList loadedTasks;
+        try {
+            loadedTasks = FluffyConfig.createTaskList(storage.load());
+        } catch (FluffyException e) {
+            LOGGER.warning("Error loading tasks, starting with an empty list");
+            loadedTasks = new TaskList();
+        }
+        tasks = loadedTasks;
+        storage.attach(tasks);
+        saver = new WriteBehindSaver(storage, tasks,
+                WriteBehindSaver.Durability.fromName(System.getProperty("fluffy.durability", "command")),
+                Long.getLong("fluffy.saveInterval", 1000), LOGGER::warning);
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Runs Fluffy as a server on the port set with {@code -Dfluffy.port=<port>} until the process is stopped.
+     *
+     * @param args The command line arguments.
+     * @throws IOException If the port cannot be listened on.
+     */
+    public static void main(String[] args) throws IOException {
+        MetricsReporter metricsReporter = FluffyConfig.createMetricsReporter();
+        metricsReporter.start();
+        try (FluffyServer server = new FluffyServer(FluffyConfig.createStorage(),
+                Integer.getInteger("fluffy.port", DEFAULT_PORT))) {
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close, "fluffy-server-shutdown"));
+            LOGGER.info("Serving " + server.tasks.getSize() + " tasks on port " + server.getPort());
+            server.serve();
+        } finally {
+            metricsReporter.close();
+        }
+    }
+
+    /**
+     * Archives the tasks done long ago, then accepts connections until the server is closed, starting a thread
+     * for each one.
+     */
+    public void serve() {
+        CommandHandler archiver = new CommandHandler(tasks, new TextUi(new PrintWriter(Writer.nullWriter())),
+                storage);
+        try {
+            if (archiver.archiveDoneTasks(FluffyConfig.getArchiveAfterDays()) > 0) {
+                saver.requestSave(null);
+            }
+        } catch (FluffyException e) {
+            LOGGER.warning(e.getMessage());
+        }
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                // The server socket was closed.
+                break;
+            }
+            connections.add(socket);
+            Thread thread = new Thread(() -> serveConnection(socket),
+                    "fluffy-connection-" + connectionCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Retrieves the port the server listens on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Stops accepting connections, closes the open ones and saves any unsaved changes.
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Closing is best effort; the connections are still closed below.
+        }
+        for (Socket socket : connections) {
+            closeQuietly(socket);
+        }
+        try {
+            saver.close();
+        } catch (FluffyException e) {
+            LOGGER.warning(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the commands of one client until it says bye or disconnects. The connection has its own user
+     * interface, so that each response only goes to the client that sent the command.
+     */
+    private void serveConnection(Socket socket) {
+        try (socket;
+                BufferedReader input = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                        StandardCharsets.UTF_8), BUFFER_SIZE);
+                PrintWriter output = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+                        socket.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE))) {
+            TextUi ui = new TextUi(output);
+            CommandHandler commandHandler = new CommandHandler(tasks, ui, storage);
+            ui.showWelcome();
+            endResponse(ui, output);
+            String line;
+            while ((line = input.readLine()) != null) {
+                boolean isExit = false;
+                try {
+                    Command c = commandHandler.handle(line);
+                    saver.requestSave(c.getClass().getSimpleName());
+                    isExit = c.isExit();
+                } catch (FluffyException e) {
+                    ui.showError(e.getMessage());
+                }
+                endResponse(ui, output);
+                if (isExit) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // The client disconnected.
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    private static void endResponse(TextUi ui, PrintWriter output) {
+        output.write(END_OF_RESPONSE + "\n");
+        ui.exit();
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // The connection is being dropped anyway.
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package fluffy.command;
+
+import java.util.List;
+
+import fluffy.FluffyException;
+import fluffy.storage.Storage;
+import fluffy.task.Task;
+import fluffy.tasklist.TaskList;
+import fluffy.ui.Ui;
+
+/**
+ * Represents a command to display the tasks that were moved to the archive after being done for a while.
+ */
+public class ArchiveCommand extends Command {
+
+    /**
+     * Does nothing, since the archive is read once the lock on the list of tasks is released.
+     * @param tasks The list of tasks.
+     * @param ui The user interface to interact with the user.
+     * @param storage The storage whose archive is displayed.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+    }
+
+    /**
+     * Executes the command to display every archived task.
+     * @param ui The user interface to interact with the user.
+     * @param storage The storage whose archive is displayed.
+     * @throws FluffyException If the archive cannot be read.
+     */
+    @Override
+    public void executeUnlocked(Ui ui, Storage storage) throws FluffyException {
+        List<Task> archivedTasks = storage.getArchive().getTasks();
+        if (archivedTasks.isEmpty()) {
+            ui.showMessage("No archived tasks yet!");
+            return;
+        }
+        ui.showArchivedTasks("Here are the tasks in your archive:", archivedTasks);
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -1,7 +1,11 @@
 package fluffy.command;
 
+import java.util.BitSet;
+import java.util.List;
+
 import fluffy.FluffyException;
 import fluffy.storage.Storage;
+import fluffy.task.Task;
 import fluffy.tasklist.TaskList;
 import fluffy.ui.Ui;
 
@@ -19,10 +23,40 @@ public abstract class Command {
      */
     public abstract void execute(TaskList tasks, Ui ui, Storage storage) throws FluffyException;
 
+    /**
+     * Finishes the command after the lock on the list of tasks is released, for slow work that does not use the
+     * list, such as reading the archive. Does nothing unless overridden.
+     * @param ui The user interface to interact with the user.
+     * @param storage The storage of the tasks.
+     * @throws FluffyException If an error occurs while finishing the command.
+     */
+    public void executeUnlocked(Ui ui, Storage storage) throws FluffyException {
+    }
+
     /**
      * Returns whether the command is an exit command.
      * @return Whether the command is an exit command.
      */
     public abstract boolean isExit();
+
+    /**
+     * Formats tasks as a list numbered by their place in the list of tasks, one task per line, without a newline
+     * at the end.
+     * @param tasks The tasks to be formatted, in order.
+     * @param indices The indices the tasks were at in the list of tasks, one for each task.
+     * @return The numbered list of tasks.
+     */
+    protected static String formatTasks(List<Task> tasks, BitSet indices) {
+        StringBuilder sb = new StringBuilder();
+        int index = indices.nextSetBit(0);
+        for (int i = 0; i < tasks.size(); i++) {
+            if (i > 0) {
+                sb.append("\n");
+            }
+            sb.append(index + 1).append(". ").append(tasks.get(i));
+            index = indices.nextSetBit(index + 1);
+        }
+        return sb.toString();
+    }
 }
 
@@ -1,5 +1,8 @@
 package fluffy.command;
 
+import java.util.BitSet;
+import java.util.List;
+
 import fluffy.FluffyException;
 import fluffy.storage.Storage;
 import fluffy.task.Task;
@@ -7,21 +10,21 @@ import fluffy.tasklist.TaskList;
 import fluffy.ui.Ui;
 
 /**
- * Represents a command to delete a task.
+ * Represents a command to delete one or more tasks.
  */
 public class DeleteCommand extends Command {
-    protected int index;
+    protected TaskNumbers taskNumbers;
 
     /**
      * Constructor for DeleteCommand.
-     * @param index The index of the task to be deleted.
+     * @param taskNumbers The numbers of the tasks to be deleted.
      */
-    public DeleteCommand(int index) {
-        this.index = index;
+    public DeleteCommand(TaskNumbers taskNumbers) {
+        this.taskNumbers = taskNumbers;
     }
 
     /**
-     * Executes the command to delete a task.
+     * Executes the command to delete tasks.
      * @param tasks The list of tasks.
      * @param ui The user interface to interact with the user.
      * @param storage The storage to save the tasks.
@@ -29,9 +32,17 @@ public class DeleteCommand extends Command {
      */
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) throws FluffyException {
-        Task task = tasks.getTask(index);
-        tasks.deleteTask(index);
-        ui.showTaskDeleted(task, tasks.getSize());
+        BitSet indices = taskNumbers.toIndices(tasks.getSize());
+        if (indices.cardinality() == 1) {
+            int index = indices.nextSetBit(0);
+            Task task = tasks.getTask(index);
+            tasks.deleteTask(index);
+            ui.showTaskDeleted(task, tasks.getSize());
+            return;
+        }
+        List<Task> deletedTasks = tasks.deleteTasks(indices);
+        ui.showMessage("Noted. I've removed these " + deletedTasks.size() + " tasks:\n"
+                + formatTasks(deletedTasks, indices) + "\nNow you have " + tasks.getSize() + " tasks in the list.");
     }
 
     @Override
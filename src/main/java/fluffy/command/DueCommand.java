@@ -0,0 +1,38 @@
+package fluffy.command;
+
+import java.time.LocalDate;
+
+import fluffy.storage.Storage;
+import fluffy.tasklist.TaskList;
+import fluffy.ui.Ui;
+
+/**
+ * Represents a command to find the deadlines due on or before a date.
+ */
+public class DueCommand extends Command {
+    private final LocalDate by;
+
+    /**
+     * Constructor for DueCommand.
+     * @param by The latest due date of the deadlines to be found.
+     */
+    public DueCommand(LocalDate by) {
+        this.by = by;
+    }
+
+    /**
+     * Executes the command to find the deadlines not done yet that are due on or before the date.
+     * @param tasks The list of tasks.
+     * @param ui The user interface to interact with the user.
+     * @param storage The storage to save the tasks.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        ui.showFoundTasks(tasks, tasks.findDueBy(by));
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
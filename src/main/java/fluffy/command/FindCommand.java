@@ -1,6 +1,10 @@
 package fluffy.command;
 
+import java.util.List;
+
+import fluffy.FluffyException;
 import fluffy.storage.Storage;
+import fluffy.task.Task;
 import fluffy.tasklist.TaskList;
 import fluffy.ui.Ui;
 
@@ -14,14 +18,16 @@ public class FindCommand extends Command {
 
     /**
      * Constructs FindCommand object with keyword as a String.
+     *
+     * @param keyword The keyword to search for.
      */
-    public FindCommand(String[] commandParts) {
-        this.keyword = commandParts[1];
+    public FindCommand(String keyword) {
+        this.keyword = keyword;
     }
 
     /**
      * Executes the command to find tasks in the task list.
-     * It filters the tasks in the task list based on the keyword and shows the found tasks using a lambda expression.
+     * It finds the tasks in the task list whose description contains the keyword and shows them.
      *
      * @param tasks TaskList object representing the task list.
      * @param ui Ui object representing the user interface.
@@ -29,8 +35,23 @@ public class FindCommand extends Command {
      */
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) {
-        TaskList foundTasks = tasks.filterTasks(task -> task.getDescription().contains(keyword));
-        ui.showFoundTasks(foundTasks);
+        TaskList foundTasks = tasks.findTasks(keyword);
+        ui.showFoundTasks(tasks, foundTasks);
+    }
+
+    /**
+     * Shows the matching tasks in the archive, if any, searched without holding up other commands.
+     *
+     * @param ui Ui object representing the user interface.
+     * @param storage object representing the storage of the task list.
+     * @throws FluffyException If the archive cannot be read.
+     */
+    @Override
+    public void executeUnlocked(Ui ui, Storage storage) throws FluffyException {
+        List<Task> archivedTasks = storage.getArchive().find(keyword);
+        if (!archivedTasks.isEmpty()) {
+            ui.showArchivedTasks("And the matching tasks in your archive:", archivedTasks);
+        }
     }
 
     public boolean isExit() {
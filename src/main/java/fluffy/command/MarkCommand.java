@@ -1,26 +1,30 @@
 package fluffy.command;
 
+import java.util.BitSet;
+import java.util.List;
+
 import fluffy.FluffyException;
 import fluffy.storage.Storage;
+import fluffy.task.Task;
 import fluffy.tasklist.TaskList;
 import fluffy.ui.Ui;
 
 /**
- * Represents a command to mark a task as done.
+ * Represents a command to mark one or more tasks as done.
  */
 public class MarkCommand extends Command {
-    private final int index;
+    private final TaskNumbers taskNumbers;
 
     /**
      * Constructor for MarkCommand.
-     * @param index The index of the task to be marked as done.
+     * @param taskNumbers The numbers of the tasks to be marked as done.
      */
-    public MarkCommand(int index) {
-        this.index = index;
+    public MarkCommand(TaskNumbers taskNumbers) {
+        this.taskNumbers = taskNumbers;
     }
 
     /**
-     * Executes the command to mark a task as done.
+     * Executes the command to mark tasks as done.
      * @param tasks The list of tasks.
      * @param ui The user interface to interact with the user.
      * @param storage The storage to save the tasks.
@@ -28,8 +32,15 @@ public class MarkCommand extends Command {
      */
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) throws FluffyException {
-        tasks.getTask(index).markAsDone();
-        ui.showMessage("Nice! I've marked this task as done:\n" + tasks.getTask(index));
+        BitSet indices = taskNumbers.toIndices(tasks.getSize());
+        if (indices.cardinality() == 1) {
+            Task task = tasks.markTask(indices.nextSetBit(0));
+            ui.showMessage("Nice! I've marked this task as done:\n" + task);
+            return;
+        }
+        List<Task> markedTasks = tasks.markTasks(indices);
+        ui.showMessage("Nice! I've marked these " + markedTasks.size() + " tasks as done:\n"
+                + formatTasks(markedTasks, indices));
     }
 
     @Override
@@ -0,0 +1,28 @@
+package fluffy.command;
+
+import fluffy.metrics.Metrics;
+import fluffy.storage.Storage;
+import fluffy.tasklist.TaskList;
+import fluffy.ui.Ui;
+
+/**
+ * Represents a command to display how long each command has taken to parse, execute, save and display.
+ */
+public class MetricsCommand extends Command {
+
+    /**
+     * Executes the command to display the latency of each command.
+     * @param tasks The list of tasks.
+     * @param ui The user interface to interact with the user.
+     * @param storage The storage to save the tasks.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        ui.showMessage(Metrics.format());
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -0,0 +1,29 @@
+package fluffy.command;
+
+import java.time.LocalDate;
+
+import fluffy.storage.Storage;
+import fluffy.tasklist.TaskList;
+import fluffy.ui.Ui;
+
+/**
+ * Represents a command to find the deadlines that are past their due date.
+ */
+public class OverdueCommand extends Command {
+
+    /**
+     * Executes the command to find the deadlines not done yet that were due before today.
+     * @param tasks The list of tasks.
+     * @param ui The user interface to interact with the user.
+     * @param storage The storage to save the tasks.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        ui.showFoundTasks(tasks, tasks.findOverdue(LocalDate.now()));
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package fluffy.command;
+
+import java.time.LocalDate;
+
+import fluffy.storage.Storage;
+import fluffy.tasklist.TaskList;
+import fluffy.ui.Ui;
+
+/**
+ * Represents a command to find the deadlines and events within a date range.
+ */
+public class OverlapCommand extends Command {
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Constructor for OverlapCommand.
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     */
+    public OverlapCommand(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the command to find the deadlines due within the range and the events that overlap it.
+     * @param tasks The list of tasks.
+     * @param ui The user interface to interact with the user.
+     * @param storage The storage to save the tasks.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) {
+        ui.showFoundTasks(tasks, tasks.findOverlapping(from, to));
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -0,0 +1,34 @@
+package fluffy.command;
+
+import java.util.List;
+
+import fluffy.FluffyException;
+import fluffy.storage.Storage;
+import fluffy.task.Task;
+import fluffy.tasklist.TaskList;
+import fluffy.ui.Ui;
+
+/**
+ * Represents a command to delete every task that is done.
+ */
+public class PurgeCommand extends Command {
+
+    /**
+     * Executes the command to delete every task that is done.
+     * @param tasks The list of tasks.
+     * @param ui The user interface to interact with the user.
+     * @param storage The storage to save the tasks.
+     * @throws FluffyException If an error occurs during the execution of the command.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws FluffyException {
+        List<Task> purgedTasks = tasks.purgeDoneTasks();
+        ui.showMessage("Noted. I've removed " + purgedTasks.size() + " done tasks.\nNow you have "
+                + tasks.getSize() + " tasks in the list.");
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -0,0 +1,34 @@
+package fluffy.command;
+
+import fluffy.FluffyException;
+import fluffy.storage.Storage;
+import fluffy.tasklist.TaskList;
+import fluffy.ui.Ui;
+
+/**
+ * Represents a command to make again the changes taken back by the last undo.
+ */
+public class RedoCommand extends Command {
+
+    /**
+     * Executes the command to redo the last undone change.
+     * @param tasks The list of tasks.
+     * @param ui The user interface to interact with the user.
+     * @param storage The storage to save the tasks.
+     * @throws FluffyException If an error occurs during the execution of the command.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws FluffyException {
+        if (tasks.redo() == 0) {
+            ui.showMessage("There is nothing to redo.");
+            return;
+        }
+        ui.showMessage("Okay! I've redone the change you undid.\nNow you have " + tasks.getSize()
+                + " tasks in the list.");
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
@@ -1,16 +1,20 @@
 package fluffy.command;
 
+import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.Map;
 
 import fluffy.FluffyException;
 import fluffy.storage.Storage;
 import fluffy.tasklist.TaskList;
+import fluffy.tasklist.TaskStatistics;
 import fluffy.ui.Ui;
 
 /**
  * Represents a command to display statistics.
  */
 public class StatCommand extends Command {
+    private static final int WEEKS_SHOWN = 4;
 
     /**
      * Executes the command to display statistics.
@@ -27,6 +31,26 @@ public class StatCommand extends Command {
         }
         HashMap<String, Integer> data = tasks.getTaskBreakdown();
         ui.showPieChart(data);
+        ui.showMessage(describeProgress(tasks.getStatistics(), LocalDate.now()));
+    }
+
+    private String describeProgress(TaskStatistics statistics, LocalDate today) {
+        StringBuilder sb = new StringBuilder("Completion rate by type:\n");
+        for (Map.Entry<String, Double> entry : statistics.getCompletionRatesByType().entrySet()) {
+            sb.append(entry.getKey())
+                .append(": ")
+                .append(Math.round(entry.getValue() * 100))
+                .append("%\n");
+        }
+        sb.append("Overdue deadlines: ").append(statistics.getOverdueCount(today)).append("\n");
+        sb.append("Deadlines due in the week of:\n");
+        for (Map.Entry<LocalDate, Integer> entry : statistics.getDeadlinesPerWeek(today, WEEKS_SHOWN).entrySet()) {
+            sb.append(entry.getKey())
+                .append(": ")
+                .append(entry.getValue())
+                .append("\n");
+        }
+        return sb.toString();
     }
 
     /**
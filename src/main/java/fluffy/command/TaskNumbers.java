@@ -0,0 +1,56 @@
+package fluffy.command;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import fluffy.FluffyException;
+
+/**
+ * Represents the task numbers given to a command, kept as ranges of zero-based indices.
+ * The ranges are only turned into a set of indices once they are checked against the number of tasks, so that
+ * a range far past the end of the list is rejected without setting a bit for every number in it.
+ */
+public class TaskNumbers {
+    private final List<int[]> ranges = new ArrayList<>();
+
+    /**
+     * Adds a range of task numbers.
+     *
+     * @param first The first task number, counting from 1.
+     * @param last The last task number, at least the first.
+     */
+    public void addRange(int first, int last) {
+        assert first >= 1 && first <= last : "range should be of positive numbers in order";
+        ranges.add(new int[] {first - 1, last});
+    }
+
+    /**
+     * Returns whether no task number was added.
+     *
+     * @return Whether there are no task numbers.
+     */
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    /**
+     * Converts the task numbers to the indices of tasks in a list.
+     *
+     * @param taskCount The number of tasks in the list.
+     * @return The indices of the tasks.
+     * @throws FluffyException If a task number is past the end of the list.
+     */
+    public BitSet toIndices(int taskCount) throws FluffyException {
+        for (int[] range : ranges) {
+            if (range[1] > taskCount) {
+                throw new FluffyException("The task number is out of bounds.");
+            }
+        }
+        BitSet indices = new BitSet();
+        for (int[] range : ranges) {
+            indices.set(range[0], range[1]);
+        }
+        return indices;
+    }
+}
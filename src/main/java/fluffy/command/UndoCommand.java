@@ -0,0 +1,34 @@
+package fluffy.command;
+
+import fluffy.FluffyException;
+import fluffy.storage.Storage;
+import fluffy.tasklist.TaskList;
+import fluffy.ui.Ui;
+
+/**
+ * Represents a command to take back the changes made by the last command that changed the tasks.
+ */
+public class UndoCommand extends Command {
+
+    /**
+     * Executes the command to undo the last change.
+     * @param tasks The list of tasks.
+     * @param ui The user interface to interact with the user.
+     * @param storage The storage to save the tasks.
+     * @throws FluffyException If an error occurs during the execution of the command.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage) throws FluffyException {
+        if (tasks.undo() == 0) {
+            ui.showMessage("There is nothing to undo.");
+            return;
+        }
+        ui.showMessage("Okay! I've undone your last change.\nNow you have " + tasks.getSize()
+                + " tasks in the list.");
+    }
+
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+}
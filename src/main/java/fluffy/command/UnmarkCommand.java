@@ -1,26 +1,30 @@
 package fluffy.command;
 
+import java.util.BitSet;
+import java.util.List;
+
 import fluffy.FluffyException;
 import fluffy.storage.Storage;
+import fluffy.task.Task;
 import fluffy.tasklist.TaskList;
 import fluffy.ui.Ui;
 
 /**
- * Represents a command to unmark a task as done.
+ * Represents a command to unmark one or more tasks as done.
  */
 public class UnmarkCommand extends Command {
-    private int index;
+    private TaskNumbers taskNumbers;
 
     /**
      * Constructor for UnmarkCommand.
-     * @param index The index of the task to be marked as not done.
+     * @param taskNumbers The numbers of the tasks to be marked as not done.
      */
-    public UnmarkCommand(int index) {
-        this.index = index;
+    public UnmarkCommand(TaskNumbers taskNumbers) {
+        this.taskNumbers = taskNumbers;
     }
 
     /**
-     * Executes the command to mark a task as not done.
+     * Executes the command to mark tasks as not done.
      * @param tasks The list of tasks.
      * @param ui The user interface to interact with the user.
      * @param storage The storage to save the tasks.
@@ -28,8 +32,15 @@ public class UnmarkCommand extends Command {
      */
     @Override
     public void execute(TaskList tasks, Ui ui, Storage storage) throws FluffyException {
-        tasks.getTask(index).markAsNotDone();
-        ui.showMessage("Nice! I've marked this task as undone:\n" + tasks.getTask(index));
+        BitSet indices = taskNumbers.toIndices(tasks.getSize());
+        if (indices.cardinality() == 1) {
+            Task task = tasks.unmarkTask(indices.nextSetBit(0));
+            ui.showMessage("Nice! I've marked this task as undone:\n" + task);
+            return;
+        }
+        List<Task> unmarkedTasks = tasks.unmarkTasks(indices);
+        ui.showMessage("Nice! I've marked these " + unmarkedTasks.size() + " tasks as undone:\n"
+                + formatTasks(unmarkedTasks, indices));
     }
 
     @Override
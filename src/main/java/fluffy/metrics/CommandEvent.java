@@ -0,0 +1,38 @@
+package fluffy.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a Java Flight Recorder event for executing a command.
+ */
+@Name("fluffy.Command")
+@Label("Command")
+@Category("Fluffy")
+@Description("Executing a command on the list of tasks")
+public class CommandEvent extends Event {
+    @Label("Command Type")
+    private String commandType;
+
+    @Label("Task Count")
+    @Description("The number of tasks after the command")
+    private int taskCount;
+
+    /**
+     * Ends the event and commits it if it is being recorded.
+     *
+     * @param commandType The class name of the command.
+     * @param taskCount The number of tasks after the command.
+     */
+    public void finish(String commandType, int taskCount) {
+        end();
+        if (shouldCommit()) {
+            this.commandType = commandType;
+            this.taskCount = taskCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package fluffy.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Represents a Java Flight Recorder event for building or updating an index of the tasks.
+ * Updates happen for every task added or removed, so only those taking at least a millisecond are recorded
+ * by default.
+ */
+@Name("fluffy.Index")
+@Label("Index Maintenance")
+@Category("Fluffy")
+@Description("Building or updating an index of the tasks")
+@Threshold("1 ms")
+public class IndexEvent extends Event {
+    @Label("Index Type")
+    private String indexType;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Command Type")
+    private String commandType;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    /**
+     * Ends the event and commits it if it is being recorded.
+     *
+     * @param indexType The class name of the index.
+     * @param operation What was done to the index, such as "build", "add" or "remove".
+     * @param taskCount The number of tasks in the list.
+     */
+    public void finish(String indexType, String operation, int taskCount) {
+        end();
+        if (shouldCommit()) {
+            this.indexType = indexType;
+            this.operation = operation;
+            this.commandType = Metrics.getCurrentCommand();
+            this.taskCount = taskCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package fluffy.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents the latencies Fluffy records while it runs, as one histogram per command class and stage.
+ * Metrics are on unless Fluffy is started with {@code -Dfluffy.metrics=off}, in which case recording does nothing.
+ */
+public class Metrics {
+    /**
+     * Represents a stage in handling a command whose latency is recorded.
+     */
+    public enum Stage {
+        PARSE("parse"),
+        EXECUTE("execute"),
+        SAVE("save"),
+        RENDER("render");
+
+        private final String name;
+
+        Stage(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final boolean IS_ENABLED = !"off".equals(System.getProperty("fluffy.metrics"));
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static final Map<String, LatencyHistogram[]> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> CURRENT_COMMAND = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> CURRENT_TASK_COUNT = new ThreadLocal<>();
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return IS_ENABLED;
+    }
+
+    /**
+     * Returns the time to measure a latency from, to be passed to {@link #record(String, Stage, long)} later.
+     *
+     * @return The current time in nanoseconds, or 0 if metrics are off.
+     */
+    public static long start() {
+        return IS_ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the latency of a stage from a start time until now.
+     *
+     * @param name The name of the command, or of whatever else the stage ran for.
+     * @param stage The stage that ran.
+     * @param startNanos The time returned by {@link #start()} when the stage started.
+     */
+    public static void record(String name, Stage stage, long startNanos) {
+        if (!IS_ENABLED) {
+            return;
+        }
+        long latency = System.nanoTime() - startNanos;
+        HISTOGRAMS.computeIfAbsent(name, key -> newHistograms())[stage.ordinal()].record(latency);
+    }
+
+    /**
+     * Sets the command being handled on this thread, so that work it hands to other threads can be recorded
+     * under its name.
+     *
+     * @param name The name of the command.
+     * @param taskCount The number of tasks when the command started.
+     */
+    public static void setCurrentCommand(String name, int taskCount) {
+        CURRENT_COMMAND.set(name);
+        CURRENT_TASK_COUNT.set(taskCount);
+    }
+
+    /**
+     * Clears the command being handled on this thread, once it is done.
+     */
+    public static void clearCurrentCommand() {
+        CURRENT_COMMAND.remove();
+        CURRENT_TASK_COUNT.remove();
+    }
+
+    public static String getCurrentCommand() {
+        return CURRENT_COMMAND.get();
+    }
+
+    /**
+     * Returns the number of tasks when the command being handled on this thread started.
+     *
+     * @return The number of tasks, or 0 if no command is being handled.
+     */
+    public static int getCurrentTaskCount() {
+        Integer taskCount = CURRENT_TASK_COUNT.get();
+        return taskCount == null ? 0 : taskCount;
+    }
+
+    /**
+     * Formats the recorded latencies to be displayed to the user.
+     *
+     * @return The latencies of each stage of each command, or a message if nothing was recorded.
+     */
+    public static String format() {
+        if (!IS_ENABLED) {
+            return "Metrics are turned off. Start Fluffy without -Dfluffy.metrics=off to record them.";
+        }
+        Map<String, LatencyHistogram[]> histograms = new TreeMap<>(HISTOGRAMS);
+        if (histograms.isEmpty()) {
+            return "No metrics recorded yet!";
+        }
+        StringBuilder sb = new StringBuilder("Latency (p50 / p99 / max in ms):");
+        for (Map.Entry<String, LatencyHistogram[]> entry : histograms.entrySet()) {
+            sb.append("\n").append(entry.getKey());
+            for (Stage stage : Stage.values()) {
+                LatencyHistogram histogram = entry.getValue()[stage.ordinal()];
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                sb.append(String.format(Locale.ROOT, "\n  %s: %.2f / %.2f / %.2f (%d runs)", stage.name,
+                        histogram.getPercentile(0.5) / NANOS_PER_MILLI,
+                        histogram.getPercentile(0.99) / NANOS_PER_MILLI,
+                        histogram.getMax() / NANOS_PER_MILLI, histogram.getCount()));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats the recorded latencies as a single line of JSON, with latencies in microseconds.
+     *
+     * @param timeMillis The time the latencies were taken at, in milliseconds since the epoch.
+     * @return The latencies as JSON.
+     */
+    public static String toJson(long timeMillis) {
+        StringBuilder sb = new StringBuilder("{\"time\":").append(timeMillis).append(",\"commands\":{");
+        String commandSeparator = "";
+        for (Map.Entry<String, LatencyHistogram[]> entry : new TreeMap<>(HISTOGRAMS).entrySet()) {
+            sb.append(commandSeparator).append('"').append(entry.getKey()).append("\":{");
+            commandSeparator = ",";
+            String stageSeparator = "";
+            for (Stage stage : Stage.values()) {
+                LatencyHistogram histogram = entry.getValue()[stage.ordinal()];
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                sb.append(stageSeparator).append(String.format(Locale.ROOT,
+                        "\"%s\":{\"count\":%d,\"p50\":%.1f,\"p99\":%.1f,\"max\":%.1f}", stage.name,
+                        histogram.getCount(), histogram.getPercentile(0.5) / NANOS_PER_MICRO,
+                        histogram.getPercentile(0.99) / NANOS_PER_MICRO, histogram.getMax() / NANOS_PER_MICRO));
+                stageSeparator = ",";
+            }
+            sb.append('}');
+        }
+        return sb.append("}}").toString();
+    }
+
+    /**
+     * Discards every recorded latency.
+     */
+    public static void clear() {
+        HISTOGRAMS.clear();
+    }
+
+    private static LatencyHistogram[] newHistograms() {
+        LatencyHistogram[] histograms = new LatencyHistogram[Stage.values().length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+}
@@ -0,0 +1,73 @@
+package fluffy.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Represents a reporter that appends the recorded latencies to a file as JSON lines, one line at a fixed interval
+ * and one more when it is closed. Each line holds every latency recorded since Fluffy started.
+ * Failing to write a line is only logged, so that metrics never get in the way of managing tasks.
+ */
+public class MetricsReporter {
+    private static final Logger LOGGER = Logger.getLogger(MetricsReporter.class.getName());
+
+    private final Path path;
+    private final long intervalMillis;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fluffy-metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructor for MetricsReporter.
+     *
+     * @param filePath The path of the file to append the latencies to.
+     * @param intervalMillis The time between lines, in milliseconds, or 0 to only write a line when closed.
+     */
+    public MetricsReporter(String filePath, long intervalMillis) {
+        this.path = Paths.get(filePath);
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Starts appending a line at every interval. Does nothing if metrics are off.
+     */
+    public void start() {
+        if (Metrics.isEnabled() && intervalMillis > 0) {
+            executor.scheduleAtFixedRate(this::writeLine, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops appending lines at every interval and appends a last line.
+     */
+    public void close() {
+        executor.shutdownNow();
+        if (Metrics.isEnabled()) {
+            writeLine();
+        }
+    }
+
+    private synchronized void writeLine() {
+        String line = Metrics.toJson(System.currentTimeMillis()) + System.lineSeparator();
+        try {
+            Path parent = path.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(path, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LOGGER.warning("Could not write metrics to " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package fluffy.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a Java Flight Recorder event for parsing user input into a command.
+ */
+@Name("fluffy.Parse")
+@Label("Parse")
+@Category("Fluffy")
+@Description("Parsing user input into a command")
+public class ParseEvent extends Event {
+    @Label("Command Type")
+    @Description("The class name of the command, or null if the input was invalid")
+    private String commandType;
+
+    @Label("Input Length")
+    @DataAmount(DataAmount.BYTES)
+    private int inputLength;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    /**
+     * Ends the event and commits it if it is being recorded.
+     *
+     * @param commandType The class name of the command, or null if the input was invalid.
+     * @param inputLength The length of the input.
+     * @param taskCount The number of tasks.
+     */
+    public void finish(String commandType, int inputLength, int taskCount) {
+        end();
+        if (shouldCommit()) {
+            this.commandType = commandType;
+            this.inputLength = inputLength;
+            this.taskCount = taskCount;
+            commit();
+        }
+    }
+}
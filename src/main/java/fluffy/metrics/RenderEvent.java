@@ -0,0 +1,38 @@
+package fluffy.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a Java Flight Recorder event for an update to the window made by a command.
+ */
+@Name("fluffy.Render")
+@Label("Render")
+@Category("Fluffy")
+@Description("Updating the window on the JavaFX application thread for a command")
+public class RenderEvent extends Event {
+    @Label("Command Type")
+    private String commandType;
+
+    @Label("Task Count")
+    @Description("The number of tasks when the command was handled")
+    private int taskCount;
+
+    /**
+     * Ends the event and commits it if it is being recorded.
+     *
+     * @param commandType The class name of the command that made the update.
+     * @param taskCount The number of tasks when the command was handled.
+     */
+    public void finish(String commandType, int taskCount) {
+        end();
+        if (shouldCommit()) {
+            this.commandType = commandType;
+            this.taskCount = taskCount;
+            commit();
+        }
+    }
+}
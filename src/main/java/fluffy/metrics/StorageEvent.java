@@ -0,0 +1,78 @@
+package fluffy.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a Java Flight Recorder event for loading tasks from or saving tasks to the hard disk.
+ */
+@Name("fluffy.Storage")
+@Label("Storage")
+@Category("Fluffy")
+@Description("Loading tasks from or saving tasks to the hard disk")
+public class StorageEvent extends Event {
+    @Label("Operation")
+    private String operation;
+
+    @Label("Storage Type")
+    private String storageType;
+
+    @Label("Path")
+    private String path;
+
+    @Label("Bytes")
+    @Description("The number of bytes read or written")
+    @DataAmount(DataAmount.BYTES)
+    private long byteCount;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    @Label("Command Type")
+    @Description("The class name of the command that the save followed, if it was made while handling one")
+    private String commandType;
+
+    /**
+     * Ends the event as a load and commits it if it is being recorded.
+     *
+     * @param storageType The class name of the storage.
+     * @param path The path of the file read.
+     * @param byteCount The number of bytes read.
+     * @param taskCount The number of tasks loaded.
+     */
+    public void finishLoad(String storageType, String path, long byteCount, int taskCount) {
+        finish("load", storageType, path, byteCount, taskCount, Metrics.getCurrentCommand());
+    }
+
+    /**
+     * Ends the event as a save and commits it if it is being recorded.
+     *
+     * @param storageType The class name of the storage.
+     * @param path The path of the file written.
+     * @param byteCount The number of bytes written.
+     * @param taskCount The number of tasks in the list saved.
+     * @param commandType The class name of the command that the save followed, or null if it followed none.
+     *         Saves are often written on another thread, after the command is done, so this is passed in.
+     */
+    public void finishSave(String storageType, String path, long byteCount, int taskCount, String commandType) {
+        finish("save", storageType, path, byteCount, taskCount, commandType);
+    }
+
+    private void finish(String operation, String storageType, String path, long byteCount, int taskCount,
+            String commandType) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.storageType = storageType;
+            this.path = path;
+            this.byteCount = byteCount;
+            this.taskCount = taskCount;
+            this.commandType = commandType;
+            commit();
+        }
+    }
+}
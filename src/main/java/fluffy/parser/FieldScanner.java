@@ -0,0 +1,237 @@
+package fluffy.parser;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Represents a scanner that reads a line one field at a time, where fields are separated by a delimiter.
+ * Fields are tracked as indices into the line, so nothing is copied until a field is read as a string.
+ * It is shared by the parser for user input and the decoder for saved tasks.
+ */
+public class FieldScanner {
+    private static final int DATE_LENGTH = 10;
+
+    private final String line;
+    private final int end;
+    private int position;
+    private int fieldStart;
+    private int fieldEnd;
+
+    /**
+     * Constructor for FieldScanner.
+     *
+     * @param line The line to be scanned.
+     */
+    public FieldScanner(String line) {
+        this(line, 0);
+    }
+
+    /**
+     * Constructor for FieldScanner.
+     *
+     * @param line The line to be scanned.
+     * @param start The index in the line to start scanning from.
+     */
+    public FieldScanner(String line, int start) {
+        this(line, start, line.length());
+    }
+
+    /**
+     * Constructor for FieldScanner.
+     *
+     * @param line The line containing the text to be scanned.
+     * @param start The index of the first character to be scanned.
+     * @param end The index after the last character to be scanned.
+     */
+    public FieldScanner(String line, int start, int end) {
+        this.line = line;
+        this.end = end;
+        this.position = start;
+    }
+
+    /**
+     * Returns whether there is another field, which may be empty.
+     */
+    public boolean hasNext() {
+        return position <= end;
+    }
+
+    /**
+     * Moves to the next field, which ends at the next delimiter or at the end of the line.
+     *
+     * @param delimiter The delimiter after the field.
+     * @return Whether there was another field.
+     */
+    public boolean next(String delimiter) {
+        if (position > end) {
+            return false;
+        }
+        fieldStart = position;
+        int delimiterIndex = line.indexOf(delimiter, position);
+        if (delimiterIndex < 0 || delimiterIndex + delimiter.length() > end) {
+            fieldEnd = end;
+            position = end + 1;
+        } else {
+            fieldEnd = delimiterIndex;
+            position = delimiterIndex + delimiter.length();
+        }
+        return true;
+    }
+
+    /**
+     * Moves to the next field like {@link #next(String)}, for fields that must be present.
+     *
+     * @param delimiter The delimiter after the field.
+     * @return This scanner, for reading the field.
+     * @throws IllegalArgumentException If there is no other field.
+     */
+    public FieldScanner nextRequired(String delimiter) {
+        if (!next(delimiter)) {
+            throw new IllegalArgumentException("Missing field in: " + line);
+        }
+        return this;
+    }
+
+    /**
+     * Moves to the next field, which ends at the next delimiter or at the end of the line.
+     *
+     * @param delimiter The delimiter after the field.
+     * @return Whether there was another field.
+     */
+    public boolean next(char delimiter) {
+        if (position > end) {
+            return false;
+        }
+        fieldStart = position;
+        int delimiterIndex = line.indexOf(delimiter, position);
+        fieldEnd = delimiterIndex < 0 || delimiterIndex >= end ? end : delimiterIndex;
+        position = fieldEnd + 1;
+        return true;
+    }
+
+    /**
+     * Moves to the rest of the line as a single field.
+     *
+     * @return Whether there was any of the line left.
+     */
+    public boolean nextRest() {
+        if (position > end) {
+            return false;
+        }
+        fieldStart = position;
+        fieldEnd = end;
+        position = end + 1;
+        return true;
+    }
+
+    /**
+     * Returns whether the rest of the line, after the current field, only contains the given character.
+     */
+    public boolean isRestOnly(char c) {
+        for (int i = position; i < end; i++) {
+            if (line.charAt(i) != c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String field() {
+        return line.substring(fieldStart, fieldEnd);
+    }
+
+    /**
+     * Returns a scanner over just the current field, for fields that are made up of smaller fields.
+     */
+    public FieldScanner fieldScanner() {
+        return new FieldScanner(line, fieldStart, fieldEnd);
+    }
+
+    public boolean isFieldEmpty() {
+        return fieldStart == fieldEnd;
+    }
+
+    /**
+     * Returns whether the current field is exactly the given text.
+     */
+    public boolean fieldEquals(String text) {
+        return fieldEnd - fieldStart == text.length() && line.startsWith(text, fieldStart);
+    }
+
+    /**
+     * Returns whether the current field is the given text, ignoring case.
+     */
+    public boolean fieldEqualsIgnoreCase(String text) {
+        return fieldEnd - fieldStart == text.length() && line.regionMatches(true, fieldStart, text, 0, text.length());
+    }
+
+    /**
+     * Returns the current field as an integer, ignoring leading and trailing whitespace.
+     *
+     * @throws NumberFormatException If the field is not an integer.
+     */
+    public int fieldAsInt() {
+        int start = fieldStart;
+        int stop = fieldEnd;
+        while (start < stop && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (stop > start && line.charAt(stop - 1) <= ' ') {
+            stop--;
+        }
+        return Integer.parseInt(line, start, stop, 10);
+    }
+
+    /**
+     * Returns the current field as a date in the format yyyy-mm-dd.
+     *
+     * @throws DateTimeParseException If the field is not a valid date.
+     */
+    public LocalDate fieldAsDate() {
+        return parseDate(line, fieldStart, fieldEnd);
+    }
+
+    /**
+     * Parses a date in the format yyyy-mm-dd from part of a string. Dates of exactly that length are read digit
+     * by digit; anything else, such as years past 9999, is left to {@link LocalDate#parse(CharSequence)}, so the
+     * same dates are accepted as before.
+     *
+     * @param text The text containing the date.
+     * @param start The index of the first character of the date.
+     * @param end The index after the last character of the date.
+     * @return The date.
+     * @throws DateTimeParseException If the text is not a valid date.
+     */
+    public static LocalDate parseDate(String text, int start, int end) {
+        if (end - start != DATE_LENGTH || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-') {
+            return LocalDate.parse(text.subSequence(start, end));
+        }
+        int year = digits(text, start, start + 4);
+        int month = digits(text, start + 5, start + 7);
+        int day = digits(text, start + 8, end);
+        if (year < 0 || month < 0 || day < 0) {
+            return LocalDate.parse(text.subSequence(start, end));
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            throw new DateTimeParseException(e.getMessage(), text.subSequence(start, end), 0, e);
+        }
+    }
+
+    /**
+     * Returns the value of a run of ASCII digits, or -1 if any character is not a digit.
+     */
+    private static int digits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
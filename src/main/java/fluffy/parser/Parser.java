@@ -1,18 +1,28 @@
 package fluffy.parser;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
 
 import fluffy.FluffyException;
+import fluffy.command.ArchiveCommand;
 import fluffy.command.ByeCommand;
 import fluffy.command.Command;
 import fluffy.command.DeadlineCommand;
 import fluffy.command.DeleteCommand;
+import fluffy.command.DueCommand;
 import fluffy.command.EventCommand;
 import fluffy.command.FindCommand;
 import fluffy.command.ListCommand;
 import fluffy.command.MarkCommand;
+import fluffy.command.MetricsCommand;
+import fluffy.command.OverdueCommand;
+import fluffy.command.OverlapCommand;
+import fluffy.command.PurgeCommand;
+import fluffy.command.RedoCommand;
 import fluffy.command.StatCommand;
+import fluffy.command.TaskNumbers;
 import fluffy.command.TodoCommand;
+import fluffy.command.UndoCommand;
 import fluffy.command.UnmarkCommand;
 
 /**
@@ -26,135 +36,258 @@ public class Parser {
     private static final String UNMARK_COMMAND = "unmark";
     private static final String MARK_COMMAND = "mark";
     private static final String DELETE_COMMAND = "delete";
+    private static final String PURGE_COMMAND = "purge";
     private static final String FIND_COMMAND = "find";
     private static final String BYE_COMMAND = "bye";
     private static final String STAT_COMMAND = "stat";
+    private static final String DUE_COMMAND = "due";
+    private static final String OVERLAP_COMMAND = "overlap";
+    private static final String OVERDUE_COMMAND = "overdue";
+    private static final String METRICS_COMMAND = "metrics";
+    private static final String ARCHIVE_COMMAND = "archive";
+    private static final String UNDO_COMMAND = "undo";
+    private static final String REDO_COMMAND = "redo";
+    private static final String[] COMMANDS = {
+        TODO_COMMAND, DEADLINE_COMMAND, EVENT_COMMAND, LIST_COMMAND, UNMARK_COMMAND, MARK_COMMAND, DELETE_COMMAND,
+        PURGE_COMMAND, FIND_COMMAND, BYE_COMMAND, STAT_COMMAND, DUE_COMMAND, OVERLAP_COMMAND, OVERDUE_COMMAND,
+        METRICS_COMMAND, ARCHIVE_COMMAND, UNDO_COMMAND, REDO_COMMAND
+    };
+    private static final String BY_MARKER = " /by ";
+    private static final String FROM_MARKER = " /from ";
+    private static final String TO_MARKER = " /to ";
 
     /**
      * Parses the user input and returns the corresponding command.
+     * The input is read in a single pass by a {@link FieldScanner}, so only the strings kept by the command,
+     * such as a description, are copied out of it.
      *
      * @param fullCommand The full user input.
      * @return The corresponding command.
      * @throws FluffyException If the user input is invalid.
      */
     public static Command parse(String fullCommand) throws FluffyException {
-        String[] commandParts = fullCommand.split(" ", 2);
-        String command = commandParts[0].toLowerCase();
+        FieldScanner scanner = new FieldScanner(fullCommand);
+        scanner.next(' ');
+        String command = matchCommand(scanner);
+        if (command == null) {
+            throw new FluffyException("I'm sorry, but I don't know what that means :-(");
+        }
         switch (command) {
         case TODO_COMMAND:
-            return parseTodoCommand(commandParts);
+            return parseTodoCommand(scanner);
         case DEADLINE_COMMAND:
-            return parseDeadlineCommand(commandParts);
+            return parseDeadlineCommand(scanner);
         case EVENT_COMMAND:
-            return parseEventCommand(commandParts);
+            return parseEventCommand(scanner);
         case LIST_COMMAND:
             return new ListCommand();
         case UNMARK_COMMAND:
-            return parseUnmarkCommand(commandParts);
+            return parseUnmarkCommand(scanner);
         case MARK_COMMAND:
-            return parseMarkCommand(commandParts);
+            return parseMarkCommand(scanner);
         case DELETE_COMMAND:
-            return parseDeleteCommand(commandParts);
+            return parseDeleteCommand(scanner);
+        case PURGE_COMMAND:
+            return parsePurgeCommand(scanner);
         case BYE_COMMAND:
             return new ByeCommand();
         case FIND_COMMAND:
-            return new FindCommand(commandParts);
+            return parseFindCommand(scanner);
         case STAT_COMMAND:
             return new StatCommand();
+        case DUE_COMMAND:
+            return parseDueCommand(scanner);
+        case OVERLAP_COMMAND:
+            return parseOverlapCommand(scanner);
+        case OVERDUE_COMMAND:
+            return new OverdueCommand();
+        case METRICS_COMMAND:
+            return new MetricsCommand();
+        case ARCHIVE_COMMAND:
+            return new ArchiveCommand();
+        case UNDO_COMMAND:
+            return new UndoCommand();
+        case REDO_COMMAND:
+            return new RedoCommand();
         default:
             throw new FluffyException("I'm sorry, but I don't know what that means :-(");
         }
     }
 
-    private static Command parseTodoCommand(String[] commandParts) throws FluffyException {
-        if (commandParts.length == 1) {
+    /**
+     * Returns the command whose name is the current field, ignoring case, or null if there is none.
+     */
+    private static String matchCommand(FieldScanner scanner) {
+        for (String command : COMMANDS) {
+            if (scanner.fieldEqualsIgnoreCase(command)) {
+                return command;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the current field as a date, or null if it is not a valid date.
+     */
+    private static LocalDate dateOrNull(FieldScanner scanner) {
+        try {
+            return scanner.fieldAsDate();
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static Command parseTodoCommand(FieldScanner scanner) throws FluffyException {
+        if (!scanner.nextRest()) {
             throw new FluffyException("The description of a todo cannot be empty.");
         }
-        if (commandParts[1].isBlank()) {
+        String description = scanner.field();
+        if (description.isBlank()) {
             throw new FluffyException("The description of a todo cannot be blank.");
         }
-        return new TodoCommand(commandParts[1]);
+        return new TodoCommand(description);
     }
 
-    private static Command parseDeadlineCommand(String[] commandParts) throws FluffyException {
-        if (commandParts.length == 1) {
+    private static Command parseDeadlineCommand(FieldScanner scanner) throws FluffyException {
+        if (!scanner.next(BY_MARKER)) {
             throw new FluffyException("The description of a deadline cannot be empty.");
         }
-        String[] deadlineParts = commandParts[1].split(" /by ");
-        if (deadlineParts.length == 1) {
+        String description = scanner.field();
+        if (!scanner.next(BY_MARKER) || scanner.isFieldEmpty()) {
             throw new FluffyException("The date of a deadline cannot be empty.");
         }
-        LocalDate by;
-        try {
-            by = LocalDate.parse(deadlineParts[1]);
-        } catch (Exception e) {
+        LocalDate by = dateOrNull(scanner);
+        if (by == null) {
             throw new FluffyException("Please enter a valid date in the format yyyy-mm-dd");
         }
-        return new DeadlineCommand(deadlineParts[0], by);
+        return new DeadlineCommand(description, by);
     }
 
-    private static Command parseEventCommand(String[] commandParts) throws FluffyException {
-        if (commandParts.length == 1) {
+    private static Command parseEventCommand(FieldScanner scanner) throws FluffyException {
+        if (!scanner.next(FROM_MARKER)) {
             throw new FluffyException("The description of an event cannot be empty.");
         }
-        String[] eventParts = commandParts[1].split(" /from ");
-        if (eventParts.length == 1) {
+        String description = scanner.field();
+        if (!scanner.next(FROM_MARKER) || scanner.isFieldEmpty()) {
             throw new FluffyException("The start date of an event cannot be empty. "
                     + "Please use /from to specify the start date.");
         }
-        String[] eventParts2 = eventParts[1].split(" /to ");
-        if (eventParts2.length == 1) {
+        FieldScanner dates = scanner.fieldScanner();
+        dates.next(TO_MARKER);
+        LocalDate from = dateOrNull(dates);
+        if (!dates.next(TO_MARKER) || dates.isFieldEmpty()) {
             throw new FluffyException("The end date of an event cannot be empty. "
                     + "Please use /to to specify the end date.");
         }
-        LocalDate from;
-        LocalDate to;
-        try {
-            from = LocalDate.parse(eventParts2[0]);
-            to = LocalDate.parse(eventParts2[1]);
-        } catch (Exception e) {
+        LocalDate to = dateOrNull(dates);
+        if (from == null || to == null) {
             throw new FluffyException("Please enter a valid date in the format yyyy-mm-dd.");
         }
-        return new EventCommand(eventParts[0], from, to);
+        return new EventCommand(description, from, to);
     }
 
-    private static Command parseMarkCommand(String[] commandParts) throws FluffyException {
-        if (commandParts.length == 1) {
+    private static Command parseMarkCommand(FieldScanner scanner) throws FluffyException {
+        if (!scanner.nextRest()) {
             throw new FluffyException("The index of a mark cannot be empty.");
         }
-        int indexToMark;
-        try {
-            indexToMark = Integer.parseInt(commandParts[1]) - 1;
-        } catch (NumberFormatException e) {
-            throw new FluffyException("Invalid task index provided for marking. Please provide an integer.");
+        TaskNumbers taskNumbers = parseTaskNumbers(scanner,
+                "Invalid task index provided for marking. Please provide an integer.");
+        return new MarkCommand(taskNumbers);
+    }
+
+    private static Command parseUnmarkCommand(FieldScanner scanner) throws FluffyException {
+        if (!scanner.nextRest()) {
+            throw new FluffyException("The index of an unmark cannot be empty.");
         }
+        TaskNumbers taskNumbers = parseTaskNumbers(scanner,
+                "Invalid task index provided for unmarking. Please provide an integer.");
+        return new UnmarkCommand(taskNumbers);
+    }
 
-        return new MarkCommand(indexToMark);
+    private static Command parseDeleteCommand(FieldScanner scanner) throws FluffyException {
+        if (!scanner.nextRest()) {
+            throw new FluffyException("The index of a delete cannot be empty.");
+        }
+        TaskNumbers taskNumbers = parseTaskNumbers(scanner,
+                "Invalid task index provided for deletion. Please provide an integer.");
+        return new DeleteCommand(taskNumbers);
     }
 
-    private static Command parseUnmarkCommand(String[] commandParts) throws FluffyException {
-        if (commandParts.length == 1) {
-            throw new FluffyException("The index of an unmark cannot be empty.");
+    private static Command parsePurgeCommand(FieldScanner scanner) throws FluffyException {
+        if (!scanner.nextRest() || !scanner.field().trim().equalsIgnoreCase("done")) {
+            throw new FluffyException("Please use purge done to delete every task that is done.");
         }
-        int indexToUnmark;
-        try {
-            indexToUnmark = Integer.parseInt(commandParts[1]) - 1;
-        } catch (NumberFormatException e) {
-            throw new FluffyException("Invalid task index provided for unmarking. Please provide an integer.");
+        return new PurgeCommand();
+    }
+
+    private static Command parseFindCommand(FieldScanner scanner) throws FluffyException {
+        if (!scanner.nextRest()) {
+            throw new FluffyException("The keyword of a find cannot be empty.");
         }
-        return new UnmarkCommand(indexToUnmark);
+        return new FindCommand(scanner.field());
     }
 
-    private static Command parseDeleteCommand(String[] commandParts) throws FluffyException {
-        if (commandParts.length == 1) {
-            throw new FluffyException("The index of a delete cannot be empty.");
+    /**
+     * Parses task numbers into zero-based indices. Task numbers can be a single number, a range such as 3-400,
+     * or a comma-separated list of both, such as 1,5,9-12. Trailing commas are ignored.
+     *
+     * @param scanner The scanner whose current field is the task numbers.
+     * @param errorMessage The error message if the task numbers are not integers.
+     * @return The task numbers, which are checked against the number of tasks when the command is executed.
+     * @throws FluffyException If the task numbers are invalid.
+     */
+    private static TaskNumbers parseTaskNumbers(FieldScanner scanner, String errorMessage) throws FluffyException {
+        TaskNumbers taskNumbers = new TaskNumbers();
+        FieldScanner items = scanner.fieldScanner();
+        while (items.next(',')) {
+            if (items.isFieldEmpty() && items.isRestOnly(',') && !taskNumbers.isEmpty()) {
+                break;
+            }
+            FieldScanner range = items.fieldScanner();
+            range.next('-');
+            int first;
+            int last;
+            try {
+                first = range.fieldAsInt();
+                last = range.nextRest() ? range.fieldAsInt() : first;
+            } catch (NumberFormatException e) {
+                throw new FluffyException(errorMessage);
+            }
+            if (first < 1 || last < 1) {
+                throw new FluffyException("The task number is out of bounds.");
+            }
+            if (first > last) {
+                throw new FluffyException("Please enter a range from a smaller to a larger task number, "
+                        + "such as 3-400.");
+            }
+            taskNumbers.addRange(first, last);
         }
-        int indexToDelete;
-        try {
-            indexToDelete = Integer.parseInt(commandParts[1]) - 1;
-        } catch (NumberFormatException e) {
-            throw new FluffyException("Invalid task index provided for deletion. Please provide an integer.");
+        return taskNumbers;
+    }
+
+    private static Command parseDueCommand(FieldScanner scanner) throws FluffyException {
+        if (!scanner.nextRest()) {
+            throw new FluffyException("The date of a due cannot be empty.");
+        }
+        LocalDate by = dateOrNull(scanner);
+        if (by == null) {
+            throw new FluffyException("Please enter a valid date in the format yyyy-mm-dd");
+        }
+        return new DueCommand(by);
+    }
+
+    private static Command parseOverlapCommand(FieldScanner scanner) throws FluffyException {
+        if (!scanner.next(' ')) {
+            throw new FluffyException("The dates of an overlap cannot be empty.");
+        }
+        LocalDate from = dateOrNull(scanner);
+        if (!scanner.next(' ') || scanner.isFieldEmpty() || !scanner.isRestOnly(' ')) {
+            throw new FluffyException("Please enter a start and end date, such as overlap 2024-06-01 2024-06-30.");
+        }
+        LocalDate to = dateOrNull(scanner);
+        if (from == null || to == null) {
+            throw new FluffyException("Please enter a valid date in the format yyyy-mm-dd.");
         }
-        return new DeleteCommand(indexToDelete);
+        return new OverlapCommand(from, to);
     }
 }
@@ -0,0 +1,137 @@
+package fluffy.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import fluffy.FluffyException;
+import fluffy.task.Deadline;
+import fluffy.task.Event;
+import fluffy.task.Task;
+import fluffy.task.Todo;
+
+/**
+ * Encodes and decodes tasks in Fluffy's compact binary format.
+ * A file starts with a magic number, a version and the number of tasks. Each task is then stored as
+ * a type byte, a done flag, its dates as epoch days and its description as length-prefixed UTF-8.
+ * Since version 2, a done flag is followed by the epoch day the task was done. Version 1 files can still be read.
+ */
+public class BinaryTaskCodec {
+    private static final int MAGIC = 0x464C4659; // "FLFY"
+    private static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_DONE_DATES = 1;
+    private static final int UNKNOWN_DONE_DAY = Integer.MIN_VALUE;
+    private static final int MIN_TASK_BYTES = 6; // type, done flag and description length
+    private static final byte TODO_TYPE = 'T';
+    private static final byte DEADLINE_TYPE = 'D';
+    private static final byte EVENT_TYPE = 'E';
+
+    /**
+     * Encodes tasks into the contents of a binary file.
+     *
+     * @param tasks The tasks to be encoded.
+     * @return The contents of the binary file.
+     */
+    public static byte[] encode(List<Task> tasks) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + tasks.size() * 32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(tasks.size());
+            for (Task task : tasks) {
+                encodeTask(task, out);
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Writing to memory cannot fail", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes tasks from the contents of a binary file.
+     *
+     * @param buffer The contents of the binary file.
+     * @return The decoded tasks.
+     * @throws FluffyException If the contents are not in a supported binary format.
+     */
+    public static List<Task> decode(ByteBuffer buffer) throws FluffyException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new FluffyException("Error reading from file");
+            }
+            byte version = buffer.get();
+            if (version != VERSION && version != VERSION_WITHOUT_DONE_DATES) {
+                throw new FluffyException("Error reading from file");
+            }
+            int size = buffer.getInt();
+            if (size < 0 || size > buffer.remaining() / MIN_TASK_BYTES) {
+                throw new FluffyException("Error reading from file");
+            }
+            List<Task> tasks = new ArrayList<>(size);
+            byte[] scratch = new byte[256];
+            for (int i = 0; i < size; i++) {
+                byte type = buffer.get();
+                boolean isDone = buffer.get() != 0;
+                int doneDay = isDone && version == VERSION ? buffer.getInt() : UNKNOWN_DONE_DAY;
+                Task task;
+                switch (type) {
+                case TODO_TYPE:
+                    task = new Todo(decodeDescription(buffer, scratch), isDone);
+                    break;
+                case DEADLINE_TYPE:
+                    LocalDate by = LocalDate.ofEpochDay(buffer.getInt());
+                    task = new Deadline(decodeDescription(buffer, scratch), by, isDone);
+                    break;
+                case EVENT_TYPE:
+                    LocalDate from = LocalDate.ofEpochDay(buffer.getInt());
+                    LocalDate to = LocalDate.ofEpochDay(buffer.getInt());
+                    task = new Event(decodeDescription(buffer, scratch), from, to, isDone);
+                    break;
+                default:
+                    throw new FluffyException("Error reading from file");
+                }
+                if (doneDay != UNKNOWN_DONE_DAY) {
+                    task.markAsDone(LocalDate.ofEpochDay(doneDay));
+                }
+                tasks.add(task);
+            }
+            return tasks;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new FluffyException("Error reading from file");
+        }
+    }
+
+    private static void encodeTask(Task task, DataOutputStream out) throws IOException {
+        out.writeByte(task.getType().charAt(0));
+        out.writeByte(task.isDone() ? 1 : 0);
+        if (task.isDone()) {
+            LocalDate doneDate = task.getDoneDate();
+            out.writeInt(doneDate == null ? UNKNOWN_DONE_DAY : (int) doneDate.toEpochDay());
+        }
+        if (task instanceof Deadline) {
+            out.writeInt((int) ((Deadline) task).getBy().toEpochDay());
+        } else if (task instanceof Event) {
+            out.writeInt((int) ((Event) task).getFrom().toEpochDay());
+            out.writeInt((int) ((Event) task).getTo().toEpochDay());
+        }
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(description.length);
+        out.write(description);
+    }
+
+    private static String decodeDescription(ByteBuffer buffer, byte[] scratch) throws FluffyException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new FluffyException("Error reading from file");
+        }
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        buffer.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
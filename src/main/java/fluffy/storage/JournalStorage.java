@@ -0,0 +1,393 @@
+package fluffy.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import fluffy.FluffyException;
+import fluffy.metrics.StorageEvent;
+import fluffy.parser.FieldScanner;
+import fluffy.task.Task;
+import fluffy.tasklist.PersistentTaskTree;
+import fluffy.tasklist.TaskList;
+import fluffy.tasklist.TaskListObserver;
+
+/**
+ * Represents a storage that appends one record per change to a journal instead of rewriting the whole file.
+ * The journal is replayed on top of the last snapshot when loading, and is compacted into a new snapshot
+ * in the background once it grows past a size threshold.
+ */
+public class JournalStorage extends Storage implements TaskListObserver {
+    private static final long DEFAULT_COMPACTION_THRESHOLD = 1024 * 1024;
+    private static final String ADD_RECORD = "A";
+    private static final String INSERT_RECORD = "I";
+    private static final String DELETE_RECORD = "D";
+    private static final String MARK_RECORD = "M";
+    private static final String UNMARK_RECORD = "U";
+    private static final String SEPARATOR = " | ";
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final Path compactedSnapshotPath;
+    private final Path compactionDonePath;
+    private final long compactionThreshold;
+    private final List<String> pendingRecords = new ArrayList<>();
+    private String unwrittenRecords = "";
+    private volatile boolean isTruncateNeeded;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fluffy-journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long journalSize;
+    private int taskCount;
+    private Future<?> compaction;
+
+    /**
+     * Constructor for JournalStorage.
+     *
+     * @param filePath The file path of the snapshot. The journal is kept next to it.
+     */
+    public JournalStorage(String filePath) {
+        this(filePath, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Constructor for JournalStorage.
+     *
+     * @param filePath The file path of the snapshot. The journal is kept next to it.
+     * @param compactionThreshold The size of the journal in bytes after which it is compacted.
+     */
+    public JournalStorage(String filePath, long compactionThreshold) {
+        super(filePath);
+        this.snapshotPath = Paths.get(filePath);
+        this.journalPath = Paths.get(filePath + ".journal");
+        this.compactedSnapshotPath = Paths.get(filePath + ".compact");
+        this.compactionDonePath = Paths.get(filePath + ".compact.done");
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Takes the changes made since the last save, to be appended to the journal. If the journal will have grown
+     * past the threshold, a snapshot of the tasks is taken too, and is compacted in the background once the
+     * changes are appended.
+     *
+     * @param tasks The list of tasks to be saved.
+     * @param commandType The class name of the command that the save follows, or null if it follows none.
+     * @return The save, ready to be written.
+     * @throws FluffyException If the last compaction failed.
+     */
+    @Override
+    public PendingSave prepareSave(TaskList tasks, String commandType) throws FluffyException {
+        checkCompaction();
+        if (pendingRecords.isEmpty() && unwrittenRecords.isEmpty()) {
+            return PendingSave.NOTHING;
+        }
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        StringBuilder sb = new StringBuilder(unwrittenRecords);
+        for (String record : pendingRecords) {
+            sb.append(record).append("\n");
+        }
+        pendingRecords.clear();
+        String records = sb.toString();
+        unwrittenRecords = "";
+        byte[] bytes = records.getBytes(StandardCharsets.UTF_8);
+        byte[] snapshot = journalSize + bytes.length >= compactionThreshold && compaction == null
+                ? encodeTasks(tasks.getTasks())
+                : null;
+        int taskCount = tasks.getSize();
+        return () -> {
+            try {
+                if (isTruncateNeeded) {
+                    truncateJournal();
+                    isTruncateNeeded = false;
+                }
+                appendToJournal(bytes);
+            } catch (IOException e) {
+                // Keep the records, so that the next save appends them before newer ones once the part of them
+                // that was written is cut off again.
+                unwrittenRecords = records;
+                isTruncateNeeded = true;
+                throw new FluffyException("Error writing to file");
+            }
+            event.finishSave(getClass().getSimpleName(), journalPath.toString(), bytes.length, taskCount,
+                    commandType);
+            journalSize += bytes.length;
+            if (snapshot != null) {
+                startCompaction(snapshot);
+            }
+        };
+    }
+
+    /**
+     * Loads the last snapshot from the hard disk and replays the journal on top of it. If tasks were saved as
+     * segments by {@link SegmentedStorage} after the snapshot and every journal, the segments are loaded instead and
+     * written as the new snapshot, which replaces the journals.
+     *
+     * @return The list of tasks loaded from the hard disk.
+     * @throws FluffyException If an error occurs during the loading of the tasks.
+     */
+    @Override
+    public List<Task> load() throws FluffyException {
+        try {
+            recoverCompaction();
+            Path segmentedPath = findNewerSegments(snapshotPath);
+            if (segmentedPath != null) {
+                List<Task> tasks = loadSegments(segmentedPath);
+                if (Files.exists(journalPath)) {
+                    rollJournal();
+                }
+                writeSnapshot(encodeTasks(tasks));
+                return new PersistentTaskTree(tasks);
+            }
+            // Deletions in the journal are replayed by position, which a tree handles without shifting. The tree is
+            // also what the task list keeps by default, so it is used as it is.
+            List<Task> tasks = new PersistentTaskTree(super.load());
+            for (Path rolledJournalPath : findRolledJournals()) {
+                replay(rolledJournalPath, tasks);
+            }
+            if (Files.exists(journalPath)) {
+                if (replay(journalPath, tasks)) {
+                    // Never append after a torn record; start a fresh journal and keep this one until compaction.
+                    rollJournal();
+                } else {
+                    journalSize = Files.size(journalPath);
+                }
+            }
+            return tasks;
+        } catch (IOException e) {
+            throw new FluffyException("Error reading from file");
+        }
+    }
+
+    /**
+     * Finds segments saved after the given files and every journal, as the journals hold changes made after the
+     * snapshot was written.
+     */
+    @Override
+    protected Path findNewerSegments(Path... paths) throws IOException {
+        List<Path> files = new ArrayList<>(Arrays.asList(paths));
+        files.add(journalPath);
+        files.addAll(findRolledJournals());
+        return super.findNewerSegments(files.toArray(new Path[0]));
+    }
+
+    /**
+     * Starts recording the changes made to the list of tasks, to be appended to the journal on the next save.
+     *
+     * @param tasks The list of tasks to be tracked.
+     */
+    @Override
+    public void attach(TaskList tasks) {
+        taskCount = tasks.getSize();
+        tasks.addObserver(this);
+    }
+
+    /**
+     * Records an added task. Tasks are usually appended, but an undone deletion puts a task back at its index,
+     * which is then recorded as an insert.
+     */
+    @Override
+    public void onTaskAdded(int index, Task task) {
+        if (index == taskCount) {
+            pendingRecords.add(ADD_RECORD + SEPARATOR + encodeTask(task));
+        } else {
+            pendingRecords.add(INSERT_RECORD + SEPARATOR + index + SEPARATOR + encodeTask(task));
+        }
+        taskCount++;
+    }
+
+    @Override
+    public void onTaskDeleted(int index, Task task) {
+        pendingRecords.add(DELETE_RECORD + SEPARATOR + index);
+        taskCount--;
+    }
+
+    @Override
+    public void onTaskUpdated(int index, Task task) {
+        if (!task.isDone()) {
+            pendingRecords.add(UNMARK_RECORD + SEPARATOR + index);
+        } else if (task.getDoneDate() == null) {
+            pendingRecords.add(MARK_RECORD + SEPARATOR + index);
+        } else {
+            pendingRecords.add(MARK_RECORD + SEPARATOR + index + SEPARATOR + task.getDoneDate());
+        }
+    }
+
+    /**
+     * Waits for a running background compaction, if any, to finish.
+     *
+     * @throws FluffyException If the compaction failed.
+     */
+    public void awaitCompaction() throws FluffyException {
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get();
+        } catch (Exception e) {
+            throw new FluffyException("Error writing to file");
+        } finally {
+            compaction = null;
+        }
+    }
+
+    private void checkCompaction() throws FluffyException {
+        if (compaction != null && compaction.isDone()) {
+            awaitCompaction();
+        }
+    }
+
+    /**
+     * Appends records to the journal, creating it if needed.
+     */
+    void appendToJournal(byte[] bytes) throws IOException {
+        Files.write(journalPath, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Cuts the journal back to the records that were fully written, so that a record left half written by a failed
+     * append is never merged with the next one.
+     */
+    private void truncateJournal() throws IOException {
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            channel.truncate(journalSize);
+        }
+    }
+
+    /**
+     * Rolls the journal over and writes a snapshot of the tasks in the background.
+     * The snapshot covers every record in the rolled journal, so later changes only ever go to the new journal.
+     */
+    private void startCompaction(byte[] snapshot) throws FluffyException {
+        try {
+            rollJournal();
+        } catch (IOException e) {
+            throw new FluffyException("Error writing to file");
+        }
+        compaction = compactor.submit(() -> {
+            writeSnapshot(snapshot);
+            return null;
+        });
+    }
+
+    /**
+     * Writes the snapshot next to the old one, then swaps it in and drops the rolled journals it replaces.
+     * A crash at any point leaves files that {@link #recoverCompaction()} can make consistent.
+     */
+    private void writeSnapshot(byte[] snapshot) throws IOException {
+        Files.write(compactedSnapshotPath, snapshot, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+        Files.createFile(compactionDonePath);
+        finishCompaction();
+    }
+
+    private void finishCompaction() throws IOException {
+        if (Files.exists(compactedSnapshotPath)) {
+            Files.move(compactedSnapshotPath, snapshotPath,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        List<Path> rolledJournals = findRolledJournals();
+        // Newest first, so an interrupted clean-up never leaves a gap in the generations.
+        for (int i = rolledJournals.size() - 1; i >= 0; i--) {
+            Files.delete(rolledJournals.get(i));
+        }
+        Files.delete(compactionDonePath);
+    }
+
+    private void recoverCompaction() throws IOException {
+        if (Files.exists(compactionDonePath)) {
+            // The new snapshot was fully written, so it already covers every rolled journal.
+            finishCompaction();
+        } else {
+            // The new snapshot may be incomplete, but the old snapshot and rolled journals are intact.
+            Files.deleteIfExists(compactedSnapshotPath);
+        }
+    }
+
+    private void rollJournal() throws IOException {
+        int generation = findRolledJournals().size() + 1;
+        Files.move(journalPath, Paths.get(journalPath + "." + generation));
+        journalSize = 0;
+    }
+
+    /**
+     * Returns the journals rolled over by compactions that have not finished, oldest first.
+     * A rolled journal is only deleted once a snapshot covering it is safely on disk.
+     */
+    private List<Path> findRolledJournals() {
+        List<Path> rolledJournals = new ArrayList<>();
+        for (int generation = 1; ; generation++) {
+            Path rolledJournalPath = Paths.get(journalPath + "." + generation);
+            if (!Files.exists(rolledJournalPath)) {
+                return rolledJournals;
+            }
+            rolledJournals.add(rolledJournalPath);
+        }
+    }
+
+    /**
+     * Applies every record in a journal to the tasks.
+     *
+     * @return Whether the journal ends in a torn record, which is skipped.
+     */
+    private boolean replay(Path journal, List<Task> tasks) throws IOException, FluffyException {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        byte[] bytes = Files.readAllBytes(journal);
+        String content = new String(bytes, StandardCharsets.UTF_8);
+        // Every record is written with its newline, so text after the last newline was never fully appended.
+        int end = content.lastIndexOf('\n') + 1;
+        int start = 0;
+        while (start < end) {
+            int newline = content.indexOf('\n', start);
+            try {
+                applyRecord(content.substring(start, newline), tasks);
+            } catch (RuntimeException e) {
+                throw new FluffyException("Error reading from file");
+            }
+            start = newline + 1;
+        }
+        event.finishLoad(getClass().getSimpleName(), journal.toString(), bytes.length, tasks.size());
+        return end < content.length();
+    }
+
+    /**
+     * Applies one record to the tasks, reading its fields in place rather than splitting it into new strings.
+     */
+    private void applyRecord(String record, List<Task> tasks) throws FluffyException {
+        FieldScanner fields = new FieldScanner(record);
+        fields.next(SEPARATOR);
+        if (fields.fieldEquals(ADD_RECORD)) {
+            tasks.add(decodeTask(fields));
+        } else if (fields.fieldEquals(INSERT_RECORD)) {
+            int index = fields.nextRequired(SEPARATOR).fieldAsInt();
+            tasks.add(index, decodeTask(fields));
+        } else if (fields.fieldEquals(DELETE_RECORD)) {
+            tasks.remove(fields.nextRequired(SEPARATOR).fieldAsInt());
+        } else if (fields.fieldEquals(MARK_RECORD)) {
+            Task task = tasks.get(fields.nextRequired(SEPARATOR).fieldAsInt());
+            // Records written before done dates were kept have no date.
+            task.markAsDone(fields.nextRest() ? fields.fieldAsDate() : null);
+        } else if (fields.fieldEquals(UNMARK_RECORD)) {
+            tasks.get(fields.nextRequired(SEPARATOR).fieldAsInt()).markAsNotDone();
+        } else {
+            throw new FluffyException("Error reading from file");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package fluffy.storage;
+
+/**
+ * Represents how long it took to load tasks from the hard disk.
+ */
+public class LoadReport {
+    private final int taskCount;
+    private final long byteCount;
+    private final int chunkCount;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor for LoadReport.
+     *
+     * @param taskCount The number of tasks loaded.
+     * @param byteCount The size of the file loaded, in bytes.
+     * @param chunkCount The number of chunks the file was split into for decoding.
+     * @param elapsedNanos The time taken to load the tasks, in nanoseconds.
+     */
+    public LoadReport(int taskCount, long byteCount, int chunkCount, long elapsedNanos) {
+        this.taskCount = taskCount;
+        this.byteCount = byteCount;
+        this.chunkCount = chunkCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the number of tasks loaded per second.
+     *
+     * @return The number of tasks loaded per second.
+     */
+    public double getLinesPerSecond() {
+        return elapsedNanos == 0 ? 0 : taskCount * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Loaded %d tasks (%d bytes, %d chunks) in %.1f ms, %.0f lines/sec",
+                taskCount, byteCount, chunkCount, elapsedNanos / 1_000_000.0, getLinesPerSecond());
+    }
+}
@@ -0,0 +1,20 @@
+package fluffy.storage;
+
+import fluffy.FluffyException;
+
+/**
+ * Represents a save whose contents have already been taken from a list of tasks, so that it can be written to the
+ * hard disk without holding the lock on the list. Pending saves of one storage must be written one at a time, in
+ * the order they were prepared.
+ */
+public interface PendingSave {
+    /** A save that has nothing to write. */
+    PendingSave NOTHING = () -> { };
+
+    /**
+     * Writes the save to the hard disk.
+     *
+     * @throws FluffyException If an error occurs during the writing of the tasks.
+     */
+    void write() throws FluffyException;
+}
@@ -0,0 +1,476 @@
+package fluffy.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import fluffy.FluffyException;
+import fluffy.metrics.StorageEvent;
+import fluffy.task.Task;
+import fluffy.tasklist.TaskList;
+import fluffy.tasklist.TaskListObserver;
+
+/**
+ * Represents a storage that splits the list of tasks into segment files of a few thousand tasks each, listed in
+ * order by a manifest. Only segments whose tasks changed since the last save are written again, so the cost of a
+ * save grows with the size of the change rather than the size of the list. Segments are loaded in parallel.
+ *
+ * <p>A changed segment is always written to a new file, and the old file is only deleted once the new manifest
+ * has replaced the old one, so a save that is cut short leaves the last saved tasks intact.
+ */
+public class SegmentedStorage extends Storage implements TaskListObserver {
+    private static final int DEFAULT_SEGMENT_SIZE = 4096;
+    private static final String MANIFEST_HEADER = "fluffy-segments 1";
+    private static final String MANIFEST_NAME = "manifest";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final int NOT_WRITTEN = -1;
+
+    private final int segmentSize;
+    private final Path directory;
+    private final Path manifestPath;
+    private final String segmentExtension;
+    private final List<Segment> segments = new ArrayList<>();
+    private final List<Long> obsoleteFileIds = new ArrayList<>();
+    private long nextFileId;
+    private boolean isManifestDirty;
+    private volatile boolean isRewriteNeeded;
+    private int cursor;
+    private int cursorStart;
+
+    /**
+     * Constructor for SegmentedStorage.
+     *
+     * @param filePath The file path of the tasks. Segments are kept in a directory next to it, and an existing
+     *         file at the path is converted into segments on the first save.
+     */
+    public SegmentedStorage(String filePath) {
+        this(filePath, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Constructor for SegmentedStorage.
+     *
+     * @param filePath The file path of the tasks. Segments are kept in a directory next to it.
+     * @param segmentSize The number of tasks in a full segment.
+     */
+    public SegmentedStorage(String filePath, int segmentSize) {
+        super(filePath);
+        this.segmentSize = segmentSize;
+        this.directory = getDirectory(Paths.get(filePath));
+        this.manifestPath = directory.resolve(MANIFEST_NAME);
+        int extensionStart = filePath.lastIndexOf('.');
+        this.segmentExtension = extensionStart > filePath.lastIndexOf('/') ? filePath.substring(extensionStart) : "";
+    }
+
+    /**
+     * Takes the segments changed since the last save, to be written to new files followed by a new manifest.
+     * If a save fails to be written, the next one rewrites every segment.
+     *
+     * @param tasks The list of tasks to be saved.
+     * @param commandType The class name of the command that the save follows, or null if it follows none.
+     * @return The save, ready to be written.
+     */
+    @Override
+    public PendingSave prepareSave(TaskList tasks, String commandType) {
+        if (isRewriteNeeded) {
+            isRewriteNeeded = false;
+            for (Segment segment : segments) {
+                markDirty(segment);
+            }
+        }
+        if (!isManifestDirty) {
+            return PendingSave.NOTHING;
+        }
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        resizeDirtySegments();
+        List<Task> allTasks = tasks.getTasks();
+        List<Long> writtenFileIds = new ArrayList<>();
+        List<byte[]> writtenContents = new ArrayList<>();
+        List<Long> replacedFileIds = new ArrayList<>(obsoleteFileIds);
+        obsoleteFileIds.clear();
+        long[] fileIds = new long[segments.size()];
+        int[] taskCounts = new int[segments.size()];
+        int start = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (segment.isDirty) {
+                writtenContents.add(encodeTasks(allTasks.subList(start, start + segment.taskCount)));
+                writtenFileIds.add(nextFileId);
+                if (segment.fileId != NOT_WRITTEN) {
+                    replacedFileIds.add(segment.fileId);
+                }
+                segment.fileId = nextFileId++;
+                segment.isDirty = false;
+            }
+            fileIds[i] = segment.fileId;
+            taskCounts[i] = segment.taskCount;
+            start += segment.taskCount;
+        }
+        isManifestDirty = false;
+        int taskCount = tasks.getSize();
+        return () -> {
+            long bytesWritten = 0;
+            try {
+                Files.createDirectories(directory);
+                for (int i = 0; i < writtenFileIds.size(); i++) {
+                    writeDurably(segmentPath(writtenFileIds.get(i)), writtenContents.get(i));
+                    bytesWritten += writtenContents.get(i).length;
+                }
+                writeManifest(fileIds, taskCounts);
+            } catch (IOException e) {
+                // The old manifest still lists the old files, which the next load deletes once a later manifest
+                // no longer lists them.
+                deleteSegments(writtenFileIds);
+                isRewriteNeeded = true;
+                throw new FluffyException("Error writing to file");
+            }
+            deleteSegments(replacedFileIds);
+            event.finishSave(getClass().getSimpleName(), directory.toString(), bytesWritten, taskCount,
+                    commandType);
+        };
+    }
+
+    /**
+     * Loads the segments listed in the manifest in parallel, and deletes segment files left behind by a save
+     * that was cut short. Without a manifest, or if the file at the file path was changed after it, the tasks are
+     * loaded from that file instead. The file is kept, so that the other storages can still load it, and they load
+     * the segments instead once these are newer.
+     *
+     * @return The list of tasks loaded from the hard disk.
+     * @throws FluffyException If an error occurs during the loading of the tasks.
+     */
+    @Override
+    public List<Task> load() throws FluffyException {
+        segments.clear();
+        obsoleteFileIds.clear();
+        resetCursor();
+        if (!Files.exists(manifestPath) || isNewerThanManifest(Paths.get(filePath))) {
+            nextFileId = deleteUnlistedSegments(new long[0]) + 1;
+            List<Task> tasks = super.load();
+            // The file the tasks came from stays where the other storages can load it.
+            convertedPath = null;
+            for (int start = 0; start < tasks.size(); start += segmentSize) {
+                segments.add(new Segment(NOT_WRITTEN, Math.min(segmentSize, tasks.size() - start)));
+            }
+            isManifestDirty = !segments.isEmpty();
+            return tasks;
+        }
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+        try {
+            for (String line : Files.readAllLines(manifestPath, StandardCharsets.UTF_8)) {
+                if (line.equals(MANIFEST_HEADER) || line.isEmpty()) {
+                    continue;
+                }
+                String[] fields = line.split(" ");
+                Segment segment = new Segment(Long.parseLong(fields[0]), Integer.parseInt(fields[1]));
+                segment.isDirty = false;
+                segments.add(segment);
+            }
+            long[] fileIds = new long[segments.size()];
+            for (int i = 0; i < fileIds.length; i++) {
+                fileIds[i] = segments.get(i).fileId;
+            }
+            nextFileId = deleteUnlistedSegments(fileIds) + 1;
+            List<Task> tasks = new ArrayList<>();
+            long byteCount = 0;
+            for (LoadedSegment loaded : readSegmentsInParallel()) {
+                tasks.addAll(loaded.tasks);
+                byteCount += loaded.byteCount;
+            }
+            lastLoadReport = new LoadReport(tasks.size(), byteCount, segments.size(),
+                    System.nanoTime() - startNanos);
+            event.finishLoad(getClass().getSimpleName(), manifestPath.toString(), byteCount, tasks.size());
+            isManifestDirty = false;
+            return tasks;
+        } catch (IOException | RuntimeException e) {
+            throw new FluffyException("Error reading from file");
+        }
+    }
+
+    /**
+     * Starts tracking which segments the changes made to a list of tasks fall in.
+     *
+     * @param tasks The list of tasks to be tracked.
+     */
+    @Override
+    public void attach(TaskList tasks) {
+        tasks.addObserver(this);
+    }
+
+    /**
+     * Counts an added task in the segment it falls in. A task added after a full last segment starts a new one,
+     * so that adding tasks to the end of the list only ever rewrites a small segment.
+     */
+    @Override
+    public void onTaskAdded(int index, Task task) {
+        Segment segment = segments.isEmpty() ? null : segments.get(findSegment(index));
+        boolean isAfterFullLastSegment = segment != null && cursor == segments.size() - 1
+                && index == cursorStart + segment.taskCount && segment.taskCount >= segmentSize;
+        if (segment == null || isAfterFullLastSegment) {
+            segment = new Segment(NOT_WRITTEN, 0);
+            segments.add(segment);
+            resetCursor();
+        }
+        segment.taskCount++;
+        markDirty(segment);
+    }
+
+    @Override
+    public void onTaskDeleted(int index, Task task) {
+        int segmentIndex = findSegment(index);
+        Segment segment = segments.get(segmentIndex);
+        segment.taskCount--;
+        markDirty(segment);
+        if (segment.taskCount == 0) {
+            removeSegment(segmentIndex);
+        }
+    }
+
+    @Override
+    public void onTaskUpdated(int index, Task task) {
+        markDirty(segments.get(findSegment(index)));
+    }
+
+    /**
+     * Returns the number of segments the tasks are split into.
+     *
+     * @return The number of segments.
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Finds the segment holding a task, or the last segment for a task added at the end of the list.
+     * The search starts from the segment found last time, since changes usually fall close to each other.
+     */
+    private int findSegment(int index) {
+        while (index < cursorStart && cursor > 0) {
+            cursor--;
+            cursorStart -= segments.get(cursor).taskCount;
+        }
+        while (index >= cursorStart + segments.get(cursor).taskCount && cursor < segments.size() - 1) {
+            cursorStart += segments.get(cursor).taskCount;
+            cursor++;
+        }
+        return cursor;
+    }
+
+    private void resetCursor() {
+        cursor = 0;
+        cursorStart = 0;
+    }
+
+    private void markDirty(Segment segment) {
+        segment.isDirty = true;
+        isManifestDirty = true;
+    }
+
+    private void removeSegment(int segmentIndex) {
+        Segment segment = segments.remove(segmentIndex);
+        if (segment.fileId != NOT_WRITTEN) {
+            obsoleteFileIds.add(segment.fileId);
+        }
+        isManifestDirty = true;
+        resetCursor();
+    }
+
+    /**
+     * Splits changed segments that have grown past twice the segment size, and merges changed segments that have
+     * shrunk below a quarter of it into the segment before them, so that segments stay close to the segment size.
+     */
+    private void resizeDirtySegments() {
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (!segment.isDirty) {
+                continue;
+            }
+            if (segment.taskCount > 2 * segmentSize) {
+                int remainingCount = segment.taskCount - segmentSize;
+                segment.taskCount = segmentSize;
+                segments.add(i + 1, new Segment(NOT_WRITTEN, remainingCount));
+            } else if (i > 0 && segment.taskCount < segmentSize / 4
+                    && segments.get(i - 1).taskCount + segment.taskCount <= segmentSize) {
+                Segment previous = segments.get(i - 1);
+                previous.taskCount += segment.taskCount;
+                previous.isDirty = true;
+                removeSegment(i);
+                i--;
+            }
+        }
+        resetCursor();
+    }
+
+    private List<LoadedSegment> readSegmentsInParallel() throws IOException {
+        List<Callable<LoadedSegment>> reads = new ArrayList<>();
+        for (Segment segment : segments) {
+            Path path = segmentPath(segment.fileId);
+            int expectedCount = segment.taskCount;
+            reads.add(() -> {
+                byte[] contents = Files.readAllBytes(path);
+                List<Task> tasks = decodeTasks(contents);
+                if (tasks.size() != expectedCount) {
+                    throw new FluffyException("Error reading from file");
+                }
+                return new LoadedSegment(tasks, contents.length);
+            });
+        }
+        List<LoadedSegment> loadedSegments = new ArrayList<>();
+        try {
+            for (Future<LoadedSegment> read : ForkJoinPool.commonPool().invokeAll(reads)) {
+                loadedSegments.add(read.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        return loadedSegments;
+    }
+
+    /**
+     * Returns the manifest that lists the segments saved for a file path.
+     */
+    static Path getManifestPath(Path filePath) {
+        return getDirectory(filePath).resolve(MANIFEST_NAME);
+    }
+
+    private static Path getDirectory(Path filePath) {
+        return Paths.get(filePath + ".segments");
+    }
+
+    private boolean isNewerThanManifest(Path path) throws FluffyException {
+        try {
+            return Files.exists(path)
+                    && Files.getLastModifiedTime(path).compareTo(Files.getLastModifiedTime(manifestPath)) > 0;
+        } catch (IOException e) {
+            throw new FluffyException("Error reading from file");
+        }
+    }
+
+    /**
+     * Replaces the manifest in one step, so that it always lists a complete set of segments. The new manifest
+     * reaches the disk before it replaces the old one, as the segments it lists already have.
+     */
+    private void writeManifest(long[] fileIds, int[] taskCounts) throws IOException {
+        StringBuilder sb = new StringBuilder(MANIFEST_HEADER).append("\n");
+        for (int i = 0; i < fileIds.length; i++) {
+            sb.append(fileIds[i]).append(' ').append(taskCounts[i]).append("\n");
+        }
+        Path temporaryPath = directory.resolve(MANIFEST_NAME + ".tmp");
+        writeDurably(temporaryPath, sb.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(temporaryPath, manifestPath, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes a file and waits for its contents to reach the disk, so that a crash after the manifest has been
+     * replaced never leaves it listing a segment that was not written.
+     */
+    private static void writeDurably(Path path, byte[] contents) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(contents);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Deletes segment files that the manifest does not list. Files that cannot be deleted are left for the next
+     * load to delete.
+     */
+    private void deleteSegments(List<Long> fileIds) {
+        for (long fileId : fileIds) {
+            try {
+                Files.deleteIfExists(segmentPath(fileId));
+            } catch (IOException e) {
+                // Unlisted files are deleted on the next load instead.
+            }
+        }
+        fileIds.clear();
+    }
+
+    /**
+     * Deletes segment files that are not listed, such as those written by a save that was cut short.
+     *
+     * @return The largest file id seen, listed or not.
+     */
+    private long deleteUnlistedSegments(long[] listedFileIds) {
+        Set<Long> listed = new HashSet<>();
+        long maxFileId = NOT_WRITTEN;
+        for (long fileId : listedFileIds) {
+            listed.add(fileId);
+            maxFileId = Math.max(maxFileId, fileId);
+        }
+        if (!Files.isDirectory(directory)) {
+            return maxFileId;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long fileId = Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                        name.length() - segmentExtension.length()));
+                maxFileId = Math.max(maxFileId, fileId);
+                if (!listed.contains(fileId)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Leftover files only take up space; they are tried again on the next load.
+        }
+        return maxFileId;
+    }
+
+    private Path segmentPath(long fileId) {
+        return directory.resolve(SEGMENT_PREFIX + fileId + segmentExtension);
+    }
+
+    /**
+     * Represents a run of consecutive tasks stored in one file.
+     */
+    private static class Segment {
+        private long fileId;
+        private int taskCount;
+        private boolean isDirty = true;
+
+        Segment(long fileId, int taskCount) {
+            this.fileId = fileId;
+            this.taskCount = taskCount;
+        }
+    }
+
+    /**
+     * Represents the tasks read from a segment file, along with the size of the file.
+     */
+    private static class LoadedSegment {
+        private final List<Task> tasks;
+        private final long byteCount;
+
+        LoadedSegment(List<Task> tasks, long byteCount) {
+            this.tasks = tasks;
+            this.byteCount = byteCount;
+        }
+    }
+}
@@ -1,25 +1,48 @@
 package fluffy.storage;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import fluffy.FluffyException;
+import fluffy.metrics.Metrics;
+import fluffy.metrics.StorageEvent;
+import fluffy.parser.FieldScanner;
 import fluffy.task.Deadline;
 import fluffy.task.Event;
 import fluffy.task.Task;
 import fluffy.task.Todo;
+import fluffy.tasklist.LazyTaskList;
 import fluffy.tasklist.TaskList;
 
 /**
  * Represents a storage for saving and loading tasks to and from the hard disk.
+ * Tasks are stored as text, or in a compact binary format if the file path ends with {@code .bin}.
  */
 public class Storage {
+    private static final String TEXT_EXTENSION = ".txt";
+    private static final String BINARY_EXTENSION = ".bin";
+    private static final String ARCHIVE_EXTENSION = ".archive.gz";
+    private static final String CONVERTED_SUFFIX = ".converted";
+    private static final int MIN_CHUNK_BYTES = 1 << 20;
+
     protected String filePath;
+    protected LoadReport lastLoadReport;
+    /** The file the tasks were last loaded from if it is not where they are saved, or null if there is none. */
+    protected volatile Path convertedPath;
+    private boolean isLazy;
+    private TaskArchive archive;
 
     /**
      * Constructor for Storage.
@@ -37,41 +60,339 @@ public class Storage {
      * @throws FluffyException If an error occurs during the saving of the tasks.
      */
     public void save(TaskList tasks) throws FluffyException {
-        try {
-            FileWriter fileWriter = new FileWriter(filePath);
-            for (Task task : tasks.getTasks()) {
-                fileWriter.write(encodeTask(task) + "\n");
+        prepareSave(tasks, Metrics.getCurrentCommand()).write();
+    }
+
+    /**
+     * Takes the contents of a save from the list of tasks, which must not change while this runs. The returned save
+     * writes them to the hard disk later, so that the list does not stay locked while the disk is busy.
+     *
+     * @param tasks The list of tasks to be saved.
+     * @param commandType The class name of the command that the save follows, or null if it follows none.
+     * @return The save, ready to be written.
+     * @throws FluffyException If an error occurs during the encoding of the tasks.
+     */
+    public PendingSave prepareSave(TaskList tasks, String commandType) throws FluffyException {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        byte[] bytes = encodeTasks(tasks.getTasks());
+        int taskCount = tasks.getSize();
+        return () -> {
+            try {
+                Files.write(Paths.get(filePath), bytes);
+            } catch (IOException e) {
+                throw new FluffyException("Error writing to file");
             }
-            fileWriter.close();
-        } catch (IOException e) {
-            throw new FluffyException("Error writing to file");
-        }
+            event.finishSave(getClass().getSimpleName(), filePath, bytes.length, taskCount, commandType);
+            retireConvertedFile();
+        };
     }
 
     /**
      * Loads data from the hard disk.
+     * If the same data is stored in the other format, and the file in this storage's format does not exist yet or
+     * is older, the other file is loaded instead. The data is then converted to this storage's format on the next
+     * save, after which the other file is renamed so that it is never loaded again. If tasks were saved as
+     * segments by {@link SegmentedStorage} after both files, the segments are loaded instead, and the file is
+     * written again on the next save.
      *
      * @return The list of tasks loaded from the hard disk.
      * @throws FluffyException If an error occurs during the loading of the tasks.
      */
     public List<Task> load() throws FluffyException {
-        List<Task> tasks = new ArrayList<>();
         try {
             Path path = Paths.get(filePath);
+            Path otherFormatPath = getOtherFormatPath(path);
+            Path segmentedPath = findNewerSegments(path, otherFormatPath);
+            if (segmentedPath != null) {
+                return loadSegments(segmentedPath);
+            }
+            if (otherFormatPath != null && Files.exists(otherFormatPath) && (!Files.exists(path)
+                    || Files.getLastModifiedTime(otherFormatPath).compareTo(Files.getLastModifiedTime(path)) > 0)) {
+                convertedPath = otherFormatPath;
+                return readTasks(otherFormatPath);
+            }
             if (!Files.exists(path)) {
-                Files.createDirectories(path.getParent());
+                Files.createDirectories(path.toAbsolutePath().getParent());
+                if (isBinary(path)) {
+                    lastLoadReport = new LoadReport(0, 0, 0, 0);
+                    return new ArrayList<>();
+                }
                 Files.createFile(path);
             }
-            List<String> lines = Files.readAllLines(Paths.get(filePath));
-            for (String line : lines) {
-                tasks.add(decodeTask(line));
+            return readTasks(path);
+        } catch (IOException e) {
+            throw new FluffyException("Error reading from file");
+        }
+    }
+
+    /**
+     * Finds the tasks saved as segments by {@link SegmentedStorage}, in either format, after every given file was
+     * last written.
+     *
+     * @param paths The files to compare the segments against. Paths that are null or do not exist are skipped.
+     * @return The file path that the newer segments belong to, or null if there are none.
+     */
+    protected Path findNewerSegments(Path... paths) throws IOException {
+        Path path = Paths.get(filePath);
+        for (Path segmentedPath : new Path[] {path, getOtherFormatPath(path)}) {
+            if (segmentedPath == null) {
+                continue;
+            }
+            Path manifestPath = SegmentedStorage.getManifestPath(segmentedPath);
+            if (Files.exists(manifestPath) && isNewerThan(Files.getLastModifiedTime(manifestPath), paths)) {
+                return segmentedPath;
             }
+        }
+        return null;
+    }
+
+    /**
+     * Loads the tasks saved as segments for a file path by {@link SegmentedStorage}.
+     *
+     * @param segmentedPath The file path that the segments belong to.
+     * @return The list of tasks loaded from the segments.
+     * @throws FluffyException If an error occurs during the loading of the tasks.
+     */
+    protected List<Task> loadSegments(Path segmentedPath) throws FluffyException {
+        SegmentedStorage segmentedStorage = new SegmentedStorage(segmentedPath.toString());
+        List<Task> tasks = segmentedStorage.load();
+        lastLoadReport = segmentedStorage.getLastLoadReport();
+        return tasks;
+    }
+
+    private static boolean isNewerThan(FileTime time, Path... paths) throws IOException {
+        for (Path path : paths) {
+            if (path != null && Files.exists(path) && Files.getLastModifiedTime(path).compareTo(time) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves how long the last call to {@link #load()} took.
+     *
+     * @return The report of the last load, or null if nothing has been loaded yet.
+     */
+    public LoadReport getLastLoadReport() {
+        return lastLoadReport;
+    }
+
+    /**
+     * Sets whether text files are loaded into a {@link LazyTaskList}, which only decodes each task the first time
+     * it is read, instead of being decoded in full.
+     *
+     * @param isLazy Whether text files are loaded lazily.
+     */
+    public void setLazy(boolean isLazy) {
+        this.isLazy = isLazy;
+    }
+
+    /**
+     * Retrieves the archive of tasks done long ago, which is kept next to the data file whatever its format,
+     * such as {@code data/fluffy.archive.gz} for {@code data/fluffy.txt}.
+     *
+     * @return The archive of this storage.
+     */
+    public TaskArchive getArchive() {
+        if (archive == null) {
+            String fileName = filePath;
+            if (fileName.endsWith(TEXT_EXTENSION) || fileName.endsWith(BINARY_EXTENSION)) {
+                fileName = fileName.substring(0, fileName.lastIndexOf('.'));
+            }
+            archive = new TaskArchive(fileName + ARCHIVE_EXTENSION, this);
+        }
+        return archive;
+    }
+
+    /**
+     * Starts tracking the changes made to a list of tasks loaded from this storage.
+     * Storage that rewrites the whole file on every save does not need to track changes.
+     *
+     * @param tasks The list of tasks to be tracked.
+     */
+    public void attach(TaskList tasks) {
+    }
+
+    /**
+     * Renames the file the tasks were converted from, once they have been saved in this storage's format, so that
+     * the stale file is never loaded instead of the new one. It is kept with a {@code .converted} suffix as a backup.
+     */
+    protected void retireConvertedFile() {
+        Path path = convertedPath;
+        if (path == null) {
+            return;
+        }
+        convertedPath = null;
+        try {
+            Files.move(path, Paths.get(path + CONVERTED_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
+            // The file saved just now is newer, so it is still loaded first next time.
+        }
+    }
+
+    /**
+     * Encodes tasks into the contents of a file in this storage's format.
+     *
+     * @param tasks The tasks to be encoded.
+     * @return The contents of the file.
+     */
+    protected byte[] encodeTasks(List<Task> tasks) {
+        if (isBinary(Paths.get(filePath))) {
+            return BinaryTaskCodec.encode(tasks);
+        }
+        if (tasks instanceof LazyTaskList) {
+            return ((LazyTaskList) tasks).encode(this::encodeTask);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Task task : tasks) {
+            sb.append(encodeTask(task)).append("\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes the contents of a file in this storage's format.
+     *
+     * @param contents The contents of the file.
+     * @return The tasks in the file.
+     * @throws FluffyException If the contents are not valid.
+     */
+    protected List<Task> decodeTasks(byte[] contents) throws FluffyException {
+        ByteBuffer buffer = ByteBuffer.wrap(contents);
+        if (isBinary(Paths.get(filePath))) {
+            return BinaryTaskCodec.decode(buffer);
+        }
+        return decodeChunk(buffer, 0, buffer.limit());
+    }
+
+    /**
+     * Reads the tasks stored in a file, in the format given by its extension.
+     * Binary files are read onto the heap rather than memory-mapped, since a file that is still mapped cannot be
+     * overwritten on Windows. Large text files are split into newline-aligned chunks that are decoded in
+     * parallel, then joined back in order, unless loading is lazy.
+     */
+    private List<Task> readTasks(Path path) throws IOException, FluffyException {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long startNanos = System.nanoTime();
+        byte[] contents = Files.readAllBytes(path);
+        if (isBinary(path)) {
+            List<Task> tasks = BinaryTaskCodec.decode(ByteBuffer.wrap(contents));
+            lastLoadReport = new LoadReport(tasks.size(), contents.length, 1, System.nanoTime() - startNanos);
+            event.finishLoad(getClass().getSimpleName(), path.toString(), contents.length, tasks.size());
+            return tasks;
+        }
+        if (isLazy) {
+            List<Task> tasks = new LazyTaskList(contents, this::decodeTask);
+            lastLoadReport = new LoadReport(tasks.size(), contents.length, 1, System.nanoTime() - startNanos);
+            event.finishLoad(getClass().getSimpleName(), path.toString(), contents.length, tasks.size());
+            return tasks;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(contents);
+        List<Integer> chunkStarts = splitIntoChunks(buffer);
+        List<Task> tasks = chunkStarts.size() == 2
+                ? decodeChunk(buffer, 0, buffer.limit())
+                : decodeChunksInParallel(buffer, chunkStarts);
+        lastLoadReport = new LoadReport(tasks.size(), buffer.limit(), chunkStarts.size() - 1,
+                System.nanoTime() - startNanos);
+        event.finishLoad(getClass().getSimpleName(), path.toString(), buffer.limit(), tasks.size());
+        return tasks;
+    }
+
+    /**
+     * Splits a text file into chunks of whole lines, about one per worker thread.
+     *
+     * @return The start of every chunk, followed by the end of the file.
+     */
+    private static List<Integer> splitIntoChunks(ByteBuffer buffer) {
+        int size = buffer.limit();
+        int chunkSize = Math.max(MIN_CHUNK_BYTES, size / ForkJoinPool.getCommonPoolParallelism() / 4);
+        List<Integer> chunkStarts = new ArrayList<>();
+        chunkStarts.add(0);
+        int start = 0;
+        while (size - start > chunkSize) {
+            int end = start + chunkSize;
+            while (end < size && buffer.get(end - 1) != '\n') {
+                end++;
+            }
+            chunkStarts.add(end);
+            start = end;
+        }
+        if (start < size) {
+            chunkStarts.add(size);
+        }
+        if (chunkStarts.size() == 1) {
+            chunkStarts.add(size);
+        }
+        return chunkStarts;
+    }
+
+    private List<Task> decodeChunksInParallel(ByteBuffer buffer, List<Integer> chunkStarts)
+            throws FluffyException {
+        List<Callable<List<Task>>> chunks = new ArrayList<>();
+        for (int i = 0; i + 1 < chunkStarts.size(); i++) {
+            int start = chunkStarts.get(i);
+            int end = chunkStarts.get(i + 1);
+            chunks.add(() -> decodeChunk(buffer, start, end));
+        }
+        List<Task> tasks = new ArrayList<>();
+        try {
+            for (Future<List<Task>> chunk : ForkJoinPool.commonPool().invokeAll(chunks)) {
+                tasks.addAll(chunk.get());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof FluffyException) {
+                throw (FluffyException) e.getCause();
+            }
+            throw new FluffyException("Error reading from file");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new FluffyException("Error reading from file");
         }
         return tasks;
     }
 
+    /**
+     * Decodes the tasks on the lines between two offsets of a text file. A line that cannot be decoded fails the
+     * same way whether the chunk is decoded on its own or in parallel with others.
+     */
+    private List<Task> decodeChunk(ByteBuffer buffer, int start, int end) throws FluffyException {
+        String text = StandardCharsets.UTF_8.decode(buffer.duplicate().position(start).limit(end)).toString();
+        List<Task> tasks = new ArrayList<>();
+        int lineStart = 0;
+        try {
+            while (lineStart < text.length()) {
+                int lineEnd = text.indexOf('\n', lineStart);
+                if (lineEnd < 0) {
+                    lineEnd = text.length();
+                }
+                int contentEnd = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                tasks.add(decodeTask(text.substring(lineStart, contentEnd)));
+                lineStart = lineEnd + 1;
+            }
+        } catch (RuntimeException e) {
+            throw new FluffyException("Error reading from file");
+        }
+        return tasks;
+    }
+
+    private static boolean isBinary(Path path) {
+        return path.toString().endsWith(BINARY_EXTENSION);
+    }
+
+    private static Path getOtherFormatPath(Path path) {
+        String fileName = path.toString();
+        if (fileName.endsWith(TEXT_EXTENSION)) {
+            return Paths.get(fileName.substring(0, fileName.length() - TEXT_EXTENSION.length()) + BINARY_EXTENSION);
+        }
+        if (fileName.endsWith(BINARY_EXTENSION)) {
+            return Paths.get(fileName.substring(0, fileName.length() - BINARY_EXTENSION.length()) + TEXT_EXTENSION);
+        }
+        return null;
+    }
+
     /**
      * Encodes task to a String for saving to the hard disk.
      * Prepends the type of task to the task's fileString.
@@ -80,7 +401,7 @@ public class Storage {
      * @return Encoded task as a String.
      */
     public String encodeTask(Task task) {
-        return task.getType() + " | " + task.toFileString();
+        return task.getType() + Task.FILE_FIELD_SEPARATOR + task.toFileString();
     }
 
     /**
@@ -92,17 +413,28 @@ public class Storage {
      * @throws FluffyException If an error occurs during the decoding of the task.
      */
     public Task decodeTask(String encodedTaskString) throws FluffyException {
-        String[] taskDetails = encodedTaskString.split(" \\| ", 2);
-        String taskType = taskDetails[0];
-        String taskFileString = taskDetails[1];
-        switch (taskType) {
-        case "T":
-            return Todo.todoFromFileString(taskFileString);
-        case "D":
-            return Deadline.deadlineFromFileString(taskFileString);
-        case "E":
-            return Event.eventFromFileString(taskFileString);
-        default:
+        return decodeTask(new FieldScanner(encodedTaskString));
+    }
+
+    /**
+     * Decodes a task from the fields of a line, without copying them out of the line first.
+     *
+     * @param fields The scanner positioned before the type of the task.
+     * @return Decoded task.
+     * @throws FluffyException If an error occurs during the decoding of the task.
+     */
+    protected Task decodeTask(FieldScanner fields) throws FluffyException {
+        fields.next(Task.FILE_FIELD_SEPARATOR);
+        if (!fields.hasNext()) {
+            throw new FluffyException("Error reading from file");
+        }
+        if (fields.fieldEquals("T")) {
+            return Todo.todoFromFields(fields);
+        } else if (fields.fieldEquals("D")) {
+            return Deadline.deadlineFromFields(fields);
+        } else if (fields.fieldEquals("E")) {
+            return Event.eventFromFields(fields);
+        } else {
             throw new FluffyException("Error reading from file");
         }
     }
@@ -0,0 +1,448 @@
+package fluffy.storage;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import fluffy.FluffyException;
+import fluffy.task.Task;
+import fluffy.tasklist.TaskList;
+
+/**
+ * Represents the archive of tasks that were done long ago, kept apart from the list of tasks so that they are no
+ * longer loaded, listed or saved with it. The archive is a gzip file that is only ever appended to, in blocks of
+ * tasks that are each one gzip member holding one task per line in the same format as the data file.
+ * An index file next to it holds the position of every block and a Bloom filter of the trigrams of its
+ * descriptions, so that a search only reads and decodes the blocks that might contain the keyword.
+ * Blocks missing from the index, such as those archived before it existed, are read whole by the next search,
+ * which then adds them to the index. Appends and searches lock the archive, as searches run without the lock on
+ * the list of tasks.
+ */
+public class TaskArchive {
+    private static final int DEFAULT_BLOCK_SIZE = 1024;
+    private static final String INDEX_EXTENSION = ".idx";
+    private static final Logger LOGGER = Logger.getLogger(TaskArchive.class.getName());
+    private static final int INDEX_MAGIC = 0x464C4649; // "FLFI"
+    private static final int INDEX_HEADER_BYTES = Integer.BYTES;
+    private static final int BLOCK_HEADER_BYTES = Long.BYTES + 2 * Integer.BYTES;
+
+    private final Path path;
+    private final Path indexPath;
+    private final Storage storage;
+    private final int blockSize;
+    private int lastReadBlockCount;
+
+    /**
+     * Represents the entry of one block in the index: where it is in the archive and what it might contain.
+     */
+    private static class Block {
+        private final long offset;
+        private final int length;
+        private final TrigramBloomFilter filter;
+
+        Block(long offset, int length, TrigramBloomFilter filter) {
+            this.offset = offset;
+            this.length = length;
+            this.filter = filter;
+        }
+    }
+
+    /**
+     * Represents the blocks read from the index, and how much of the index file held whole entries.
+     */
+    private static class Index {
+        private final List<Block> blocks;
+        private final long validLength;
+
+        Index(List<Block> blocks, long validLength) {
+            this.blocks = blocks;
+            this.validLength = validLength;
+        }
+    }
+
+    /**
+     * Represents a stream over a range of a file, read with positional reads so that ranges can be read in any
+     * order from one channel.
+     */
+    private static class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private final ByteBuffer single = ByteBuffer.allocate(1);
+        private long position;
+
+        RangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            single.clear();
+            return read(single) <= 0 ? -1 : single.get(0) & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            return read(ByteBuffer.wrap(bytes, offset, length));
+        }
+
+        /**
+         * Returns the bytes left in the range. {@link GZIPInputStream} only reads on to the next gzip member if
+         * this is not 0.
+         */
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+
+        private int read(ByteBuffer buffer) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            buffer.limit(buffer.position() + (int) Math.min(buffer.remaining(), end - position));
+            int readCount = channel.read(buffer, position);
+            if (readCount > 0) {
+                position += readCount;
+            }
+            return readCount;
+        }
+    }
+
+    /**
+     * Constructor for TaskArchive.
+     *
+     * @param filePath The file path of the archive.
+     * @param storage The storage whose format the tasks are encoded in.
+     */
+    public TaskArchive(String filePath, Storage storage) {
+        this(filePath, storage, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Constructor for TaskArchive.
+     *
+     * @param filePath The file path of the archive.
+     * @param storage The storage whose format the tasks are encoded in.
+     * @param blockSize The largest number of tasks in a block.
+     */
+    public TaskArchive(String filePath, Storage storage, int blockSize) {
+        this.path = Paths.get(filePath);
+        this.indexPath = Paths.get(filePath + INDEX_EXTENSION);
+        this.storage = storage;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Moves the tasks that were marked as done before a date from a list of tasks to the archive.
+     * The tasks are written to the archive before they are deleted from the list, so that a failure never
+     * loses them.
+     *
+     * @param tasks The list of tasks.
+     * @param date The date tasks must have been done before to be archived.
+     * @return The tasks that were archived, in order.
+     * @throws FluffyException If the tasks cannot be written to the archive, in which case none are deleted.
+     */
+    public List<Task> archiveTasksDoneBefore(TaskList tasks, LocalDate date) throws FluffyException {
+        List<Task> oldTasks = tasks.filterTasks(task -> task.isDoneBefore(date)).getTasks();
+        if (oldTasks.isEmpty()) {
+            return oldTasks;
+        }
+        append(oldTasks);
+        tasks.purgeTasksDoneBefore(date);
+        return oldTasks;
+    }
+
+    /**
+     * Appends tasks to the archive in blocks, waits for them to reach the disk, then adds the blocks to the index.
+     * If writing the archive fails, it is cut back to its previous size, so that later blocks can still be read.
+     * If only writing the index fails, the blocks are still found, by reading them on every search.
+     *
+     * @param tasks The tasks to be archived.
+     * @throws FluffyException If the tasks cannot be written to the archive.
+     */
+    public synchronized void append(List<Task> tasks) throws FluffyException {
+        List<byte[]> members = new ArrayList<>();
+        List<TrigramBloomFilter> filters = new ArrayList<>();
+        for (int start = 0; start < tasks.size(); start += blockSize) {
+            List<Task> block = tasks.subList(start, Math.min(tasks.size(), start + blockSize));
+            members.add(compress(block));
+            filters.add(TrigramBloomFilter.of(block));
+        }
+        long blockOffset;
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                blockOffset = channel.size();
+                try {
+                    for (byte[] member : members) {
+                        writeFully(channel, ByteBuffer.wrap(member));
+                    }
+                    channel.force(true);
+                } catch (IOException e) {
+                    channel.truncate(blockOffset);
+                    throw e;
+                }
+            }
+        } catch (IOException e) {
+            throw new FluffyException("Error writing to archive");
+        }
+        List<Block> blocks = new ArrayList<>();
+        for (int i = 0; i < members.size(); i++) {
+            blocks.add(new Block(blockOffset, members.get(i).length, filters.get(i)));
+            blockOffset += members.get(i).length;
+        }
+        appendToIndex(blocks);
+    }
+
+    /**
+     * Retrieves every archived task, in the order they were archived.
+     *
+     * @return The archived tasks.
+     * @throws FluffyException If the archive cannot be read.
+     */
+    public List<Task> getTasks() throws FluffyException {
+        return find("");
+    }
+
+    /**
+     * Finds the archived tasks whose description contains a keyword. Only the blocks whose filter might contain
+     * the keyword are read, and only the lines containing the keyword are decoded. Blocks missing from the index
+     * are read whole and then added to it, so that later searches can skip them too.
+     *
+     * @param keyword The keyword to search for.
+     * @return The archived tasks whose description contains the keyword, in the order they were archived.
+     * @throws FluffyException If the archive cannot be read.
+     */
+    public synchronized List<Task> find(String keyword) throws FluffyException {
+        List<Task> foundTasks = new ArrayList<>();
+        lastReadBlockCount = 0;
+        if (!Files.exists(path)) {
+            return foundTasks;
+        }
+        List<Block> validBlocks = new ArrayList<>();
+        boolean isIndexIncomplete = false;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long archiveSize = channel.size();
+            long position = 0;
+            for (Block block : readIndex().blocks) {
+                if (block.offset < position || block.offset + block.length > archiveSize) {
+                    continue;
+                }
+                if (block.offset > position) {
+                    isIndexIncomplete |= indexRange(channel, position, block.offset, keyword, foundTasks,
+                            validBlocks);
+                }
+                if (block.filter.mightContain(keyword)) {
+                    readRange(channel, block.offset, block.offset + block.length, keyword, foundTasks, null);
+                }
+                validBlocks.add(block);
+                position = block.offset + block.length;
+            }
+            if (position < archiveSize) {
+                isIndexIncomplete |= indexRange(channel, position, archiveSize, keyword, foundTasks, validBlocks);
+            }
+        } catch (IOException e) {
+            throw new FluffyException("Error reading from archive");
+        }
+        if (isIndexIncomplete) {
+            writeIndex(validBlocks);
+        }
+        return foundTasks;
+    }
+
+    /**
+     * Returns how many ranges of blocks the last search read, which is one per block that might have matched plus
+     * one per run of blocks missing from the index.
+     */
+    int getLastReadBlockCount() {
+        return lastReadBlockCount;
+    }
+
+    /**
+     * Reads a range of the archive that is missing from the index, keeping the tasks that match a keyword, and
+     * adds the range to a list of blocks if it was read whole.
+     *
+     * @return Whether the range was added, so the index needs writing.
+     */
+    private boolean indexRange(FileChannel channel, long start, long end, String keyword, List<Task> foundTasks,
+            List<Block> blocks) throws FluffyException, IOException {
+        List<Task> rangeTasks = new ArrayList<>();
+        if (!readRange(channel, start, end, keyword, foundTasks, rangeTasks) || end - start > Integer.MAX_VALUE) {
+            return false;
+        }
+        blocks.add(new Block(start, (int) (end - start), TrigramBloomFilter.of(rangeTasks)));
+        return true;
+    }
+
+    /**
+     * Reads the tasks in a range of the archive that holds whole blocks, keeping those that match a keyword.
+     * Every line is decoded if the tasks of the range are wanted, and only the lines containing the keyword
+     * otherwise.
+     *
+     * @param rangeTasks The list to add every task in the range to, or null if they are not wanted.
+     * @return Whether the range was read to its end.
+     */
+    private boolean readRange(FileChannel channel, long start, long end, String keyword, List<Task> foundTasks,
+            List<Task> rangeTasks) throws FluffyException, IOException {
+        lastReadBlockCount++;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new RangeInputStream(channel, start, end)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (rangeTasks == null && !line.contains(keyword)) {
+                    continue;
+                }
+                Task task = storage.decodeTask(line);
+                if (rangeTasks != null) {
+                    rangeTasks.add(task);
+                }
+                if (task.getDescription().contains(keyword)) {
+                    foundTasks.add(task);
+                }
+            }
+            return true;
+        } catch (EOFException | ZipException e) {
+            // The last block was cut short by a crash while it was appended; its tasks were never deleted from
+            // the list of tasks, so they are archived again later.
+            return false;
+        } catch (RuntimeException e) {
+            throw new FluffyException("Error reading from archive");
+        }
+    }
+
+    /**
+     * Adds blocks to the end of the index, first cutting off an entry left half-written by a crash.
+     * Failing to write the index is only logged, since blocks missing from it are still read.
+     */
+    private void appendToIndex(List<Block> blocks) {
+        byte[] entries = encodeIndexEntries(blocks);
+        long validLength = readIndex().validLength;
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (validLength == 0) {
+                ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_BYTES).putInt(INDEX_MAGIC);
+                header.flip();
+                channel.truncate(0);
+                writeFully(channel.position(0), header);
+                validLength = INDEX_HEADER_BYTES;
+            }
+            channel.truncate(validLength);
+            writeFully(channel.position(validLength), ByteBuffer.wrap(entries));
+            channel.force(true);
+        } catch (IOException e) {
+            LOGGER.warning("Could not write archive index " + indexPath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the index with the given blocks, which are in the order they are in the archive.
+     * If this is cut short by a crash, the blocks left out are read whole by the next search and added again.
+     */
+    private void writeIndex(List<Block> blocks) {
+        byte[] entries = encodeIndexEntries(blocks);
+        ByteBuffer contents = ByteBuffer.allocate(INDEX_HEADER_BYTES + entries.length).putInt(INDEX_MAGIC)
+                .put(entries);
+        contents.flip();
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, contents);
+            channel.force(true);
+        } catch (IOException e) {
+            LOGGER.warning("Could not write archive index " + indexPath + ": " + e.getMessage());
+        }
+    }
+
+    private static byte[] encodeIndexEntries(List<Block> blocks) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (Block block : blocks) {
+                long[] bits = block.filter.getBits();
+                out.writeLong(block.offset);
+                out.writeInt(block.length);
+                out.writeInt(bits.length);
+                for (long word : bits) {
+                    out.writeLong(word);
+                }
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Writing to memory cannot fail", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads the entries of the index, stopping at the first entry that is not whole.
+     * An index that is missing or not recognised has no entries.
+     */
+    private Index readIndex() {
+        List<Block> blocks = new ArrayList<>();
+        ByteBuffer buffer;
+        try {
+            if (!Files.exists(indexPath)) {
+                return new Index(blocks, 0);
+            }
+            buffer = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+        } catch (IOException e) {
+            LOGGER.warning("Could not read archive index " + indexPath + ": " + e.getMessage());
+            return new Index(blocks, 0);
+        }
+        if (buffer.remaining() < INDEX_HEADER_BYTES || buffer.getInt() != INDEX_MAGIC) {
+            return new Index(blocks, 0);
+        }
+        while (buffer.remaining() >= BLOCK_HEADER_BYTES) {
+            int entryStart = buffer.position();
+            long offset = buffer.getLong();
+            int length = buffer.getInt();
+            int wordCount = buffer.getInt();
+            if (wordCount <= 0 || Integer.bitCount(wordCount) != 1 || buffer.remaining() / Long.BYTES < wordCount) {
+                buffer.position(entryStart);
+                break;
+            }
+            long[] bits = new long[wordCount];
+            buffer.asLongBuffer().get(bits);
+            buffer.position(buffer.position() + wordCount * Long.BYTES);
+            blocks.add(new Block(offset, length, new TrigramBloomFilter(bits)));
+        }
+        return new Index(blocks, buffer.position());
+    }
+
+    private byte[] compress(List<Task> tasks) {
+        ByteArrayOutputStream member = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(member)) {
+            for (Task task : tasks) {
+                gzip.write((storage.encodeTask(task) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Writing to memory cannot fail", e);
+        }
+        return member.toByteArray();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package fluffy.storage;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import fluffy.task.Task;
+
+/**
+ * Represents a Bloom filter of every three-character substring of the descriptions of a block of tasks.
+ * It answers whether a keyword could be in a description in the block: a "no" is always right, while a "yes" is
+ * wrong about 1% of the time. Keywords shorter than three characters could always be in the block.
+ */
+class TrigramBloomFilter {
+    private static final int TRIGRAM_LENGTH = 3;
+    private static final int BITS_PER_TRIGRAM = 10;
+    private static final int HASH_COUNT = 7;
+
+    private final long[] bits;
+
+    /**
+     * Constructor for TrigramBloomFilter, for a filter read back from disk.
+     *
+     * @param bits The bits of the filter, whose length is a power of two.
+     */
+    TrigramBloomFilter(long[] bits) {
+        assert Integer.bitCount(bits.length) == 1 : "filter should have a power of two of words";
+        this.bits = bits;
+    }
+
+    /**
+     * Creates a filter of the trigrams of the descriptions of tasks, sized for about 1% false positives.
+     *
+     * @param tasks The tasks in the block.
+     * @return The filter of the block.
+     */
+    static TrigramBloomFilter of(List<Task> tasks) {
+        Set<Long> trigrams = new HashSet<>();
+        for (Task task : tasks) {
+            String description = task.getDescription();
+            for (int i = 0; i + TRIGRAM_LENGTH <= description.length(); i++) {
+                trigrams.add(trigramAt(description, i));
+            }
+        }
+        int neededWordCount = Math.max(1, (trigrams.size() * BITS_PER_TRIGRAM + Long.SIZE - 1) / Long.SIZE);
+        int wordCount = Integer.highestOneBit(neededWordCount);
+        if (wordCount < neededWordCount) {
+            wordCount <<= 1;
+        }
+        TrigramBloomFilter filter = new TrigramBloomFilter(new long[wordCount]);
+        for (long trigram : trigrams) {
+            filter.add(trigram);
+        }
+        return filter;
+    }
+
+    /**
+     * Returns whether a description in the block could contain a keyword.
+     *
+     * @param keyword The keyword to search for.
+     * @return False if no description in the block contains the keyword, true if one might.
+     */
+    boolean mightContain(String keyword) {
+        for (int i = 0; i + TRIGRAM_LENGTH <= keyword.length(); i++) {
+            if (!mightContainTrigram(trigramAt(keyword, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long[] getBits() {
+        return bits;
+    }
+
+    private void add(long trigram) {
+        long hash = mix(trigram);
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = bitOf(hash, i);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private boolean mightContainTrigram(long trigram) {
+        long hash = mix(trigram);
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = bitOf(hash, i);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the bit set by one of the hash functions, derived from the two halves of one hash.
+     */
+    private int bitOf(long hash, int hashIndex) {
+        int firstHash = (int) hash;
+        int secondHash = (int) (hash >>> 32) | 1;
+        return (firstHash + hashIndex * secondHash) & (bits.length * Long.SIZE - 1);
+    }
+
+    private static long trigramAt(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+    /**
+     * Spreads the bits of a trigram over the whole hash, so that similar trigrams set unrelated bits.
+     */
+    private static long mix(long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        hash *= 0xBF58476D1CE4E5B9L;
+        return hash ^ (hash >>> 29);
+    }
+}
@@ -0,0 +1,168 @@
+package fluffy.storage;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import fluffy.FluffyException;
+import fluffy.metrics.Metrics;
+import fluffy.tasklist.TaskList;
+
+/**
+ * Represents a saver that writes a list of tasks to storage on a background thread.
+ * Saves are skipped when nothing has changed, and bursts of changes are merged into a single write.
+ * The list of tasks is only locked while the save takes its contents, so changes to it should be made while
+ * holding its lock; writing them to the hard disk happens after the lock is released.
+ */
+public class WriteBehindSaver {
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Represents how soon a change is written to the hard disk.
+     */
+    public enum Durability {
+        /** Writes as soon as possible after every command that changes the tasks. */
+        EVERY_COMMAND,
+        /** Writes at most once every interval. */
+        PERIODIC,
+        /** Writes only when the saver is closed. */
+        ON_EXIT;
+
+        /**
+         * Parses a durability from its name, as in {@code -Dfluffy.durability=<name>}.
+         *
+         * @param name One of "command", "periodic" or "exit".
+         * @return The durability with that name, or {@link #EVERY_COMMAND} if the name is not known.
+         */
+        public static Durability fromName(String name) {
+            switch (name) {
+            case "periodic":
+                return PERIODIC;
+            case "exit":
+                return ON_EXIT;
+            default:
+                return EVERY_COMMAND;
+            }
+        }
+    }
+
+    private final Storage storage;
+    private final TaskList tasks;
+    private final Durability durability;
+    private final long intervalMillis;
+    private final Consumer<String> errorHandler;
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "fluffy-saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Object writeLock = new Object();
+    private boolean isSaveScheduled;
+    private volatile String lastCommandType;
+    private long requestedModificationCount;
+    private volatile long savedModificationCount;
+
+    /**
+     * Constructor for WriteBehindSaver.
+     *
+     * @param storage The storage to save the tasks to.
+     * @param tasks The list of tasks to be saved.
+     * @param durability How soon a change is written to the hard disk.
+     * @param intervalMillis The interval between writes for {@link Durability#PERIODIC}.
+     * @param errorHandler Receives the error message of a background save that failed.
+     */
+    public WriteBehindSaver(Storage storage, TaskList tasks, Durability durability, long intervalMillis,
+            Consumer<String> errorHandler) {
+        this.storage = storage;
+        this.tasks = tasks;
+        this.durability = durability;
+        this.intervalMillis = intervalMillis;
+        this.errorHandler = errorHandler;
+        this.savedModificationCount = tasks.getModificationCount();
+        this.requestedModificationCount = savedModificationCount;
+        // A periodic save still waiting on close is replaced by the final save.
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Requests the tasks to be saved after a command.
+     * Does nothing if the tasks have not changed or a save is already scheduled. A command that changed the tasks
+     * is remembered, so that the save that writes its changes is reported as following it, even when it is
+     * written later on the background thread.
+     *
+     * @param commandType The class name of the command that was just handled, or null if it was not a command.
+     */
+    public synchronized void requestSave(String commandType) {
+        long modificationCount;
+        synchronized (tasks) {
+            modificationCount = tasks.getModificationCount();
+        }
+        if (executor.isShutdown() || modificationCount == savedModificationCount) {
+            return;
+        }
+        if (modificationCount != requestedModificationCount) {
+            requestedModificationCount = modificationCount;
+            lastCommandType = commandType;
+        }
+        if (isSaveScheduled || durability == Durability.ON_EXIT) {
+            return;
+        }
+        isSaveScheduled = true;
+        long delayMillis = durability == Durability.PERIODIC ? intervalMillis : 0;
+        executor.schedule(this::saveInBackground, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Lets a save in progress finish, stops the background thread, then saves any unsaved changes on the calling
+     * thread. A write is never interrupted, so the file is never left half written.
+     *
+     * @throws FluffyException If an error occurs during the saving of the tasks.
+     */
+    public void close() throws FluffyException {
+        executor.shutdown();
+        try {
+            // Even if this times out, the final save below waits for a write in progress to finish first.
+            executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        save();
+    }
+
+    private void saveInBackground() {
+        synchronized (this) {
+            isSaveScheduled = false;
+        }
+        try {
+            save();
+        } catch (FluffyException e) {
+            errorHandler.accept(e.getMessage());
+        }
+    }
+
+    /**
+     * Takes the contents of the save while holding the lock on the tasks, then writes them after releasing it,
+     * so that commands never wait for the hard disk. Saves are written one at a time, in order.
+     */
+    private void save() throws FluffyException {
+        synchronized (writeLock) {
+            long start = Metrics.start();
+            long modificationCount;
+            String commandType;
+            PendingSave pendingSave;
+            synchronized (tasks) {
+                modificationCount = tasks.getModificationCount();
+                if (modificationCount == savedModificationCount) {
+                    return;
+                }
+                commandType = lastCommandType;
+                pendingSave = storage.prepareSave(tasks, commandType);
+            }
+            pendingSave.write();
+            // Saves that follow no command, such as archiving at start-up, are recorded under the storage instead.
+            Metrics.record(commandType != null ? commandType : storage.getClass().getSimpleName(),
+                    Metrics.Stage.SAVE, start);
+            savedModificationCount = modificationCount;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package fluffy.task;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Represents a cache of dates formatted for display, shared by every task.
+ * Each epoch day has one slot in a fixed-size table, so the cache never grows, and a run of about eleven years of
+ * consecutive days fits without two days sharing a slot. Slots hold immutable entries, so the cache needs no locks.
+ */
+final class DateFormatCache {
+    private static final int SIZE = 4096;
+    private static final Entry[] ENTRIES = new Entry[SIZE];
+
+    private DateFormatCache() {
+    }
+
+    /**
+     * Returns a date formatted with a formatter, reusing the string from an earlier call for the same day.
+     *
+     * @param date The date to be formatted.
+     * @param formatter The formatter, which must be the same for every call.
+     * @return The formatted date.
+     */
+    static String format(LocalDate date, DateTimeFormatter formatter) {
+        long epochDay = date.toEpochDay();
+        int slot = (int) (epochDay & (SIZE - 1));
+        Entry entry = ENTRIES[slot];
+        if (entry == null || entry.epochDay != epochDay) {
+            entry = new Entry(epochDay, date.format(formatter));
+            ENTRIES[slot] = entry;
+        }
+        return entry.text;
+    }
+
+    /**
+     * Represents a formatted date in the cache.
+     */
+    private static final class Entry {
+        private final long epochDay;
+        private final String text;
+
+        Entry(long epochDay, String text) {
+            this.epochDay = epochDay;
+            this.text = text;
+        }
+    }
+}
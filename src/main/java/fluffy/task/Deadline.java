@@ -2,6 +2,8 @@ package fluffy.task;
 
 import java.time.LocalDate;
 
+import fluffy.parser.FieldScanner;
+
 /**
  * Represents a deadline task.
  */
@@ -31,19 +33,28 @@ public class Deadline extends Task {
         this.by = by;
     }
 
+    /**
+     * Returns the date of the deadline.
+     *
+     * @return The date of the deadline.
+     */
+    public LocalDate getBy() {
+        return by;
+    }
+
     @Override
     public String getType() {
         return "D";
     }
 
     /**
-     * Returns the deadline in the format to be displayed to the user.
+     * Renders the deadline in the format to be displayed to the user.
      *
      * @return The deadline in the format to be displayed to the user.
      */
     @Override
-    public String toString() {
-        return "[" + getType() + "]" + super.toString() + " (by: " + by.format(Task.DATE_TIME_FORMATTER) + ")";
+    protected String render() {
+        return "[" + getType() + "]" + super.render() + " (by: " + formatDate(by) + ")";
     }
 
     /**
@@ -53,7 +64,7 @@ public class Deadline extends Task {
      */
     @Override
     public String toFileString() {
-        return getType() + " | " + (isDone ? "1" : "0") + " | " + description + " | " + by;
+        return getType() + " | " + toDoneField() + " | " + description + " | " + by;
     }
 
     /**
@@ -63,10 +74,22 @@ public class Deadline extends Task {
      * @return The Deadline object from the file string.
      */
     public static Deadline deadlineFromFileString(String fileString) {
-        String[] taskDetails = fileString.split(" \\| ");
-        boolean isDone = taskDetails[1].equals("1");
-        String description = taskDetails[2];
-        LocalDate by = LocalDate.parse(taskDetails[3]);
-        return new Deadline(description, by, isDone);
+        return deadlineFromFields(new FieldScanner(fileString));
+    }
+
+    /**
+     * Creates a Deadline object from the fields of a file string, starting from its type.
+     *
+     * @param fields The scanner positioned before the type of the deadline.
+     * @return The Deadline object from the fields.
+     */
+    public static Deadline deadlineFromFields(FieldScanner fields) {
+        fields.nextRequired(FILE_FIELD_SEPARATOR);
+        FieldScanner doneField = fields.nextRequired(FILE_FIELD_SEPARATOR).fieldScanner();
+        String description = fields.nextRequired(FILE_FIELD_SEPARATOR).field();
+        LocalDate by = fields.nextRequired(FILE_FIELD_SEPARATOR).fieldAsDate();
+        Deadline deadline = new Deadline(description, by);
+        deadline.readDoneField(doneField);
+        return deadline;
     }
 }
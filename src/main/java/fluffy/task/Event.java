@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 
 import fluffy.FluffyException;
+import fluffy.parser.FieldScanner;
 
 /**
  * Represents an event task.
@@ -57,20 +58,37 @@ public class Event extends Task {
         this.to = to;
     }
 
+    /**
+     * Returns the start date of the event.
+     *
+     * @return The start date of the event.
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the end date of the event.
+     *
+     * @return The end date of the event.
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
     @Override
     public String getType() {
         return "E";
     }
 
     /**
-     * Returns the event in the format to be displayed to the user.
+     * Renders the event in the format to be displayed to the user.
      *
      * @return The event in the format to be displayed to the user.
      */
     @Override
-    public String toString() {
-        return "[" + getType() + "]" + super.toString() + " (from: " + from.format(Task.DATE_TIME_FORMATTER)
-                + " to: " + to.format(Task.DATE_TIME_FORMATTER) + ")";
+    protected String render() {
+        return "[" + getType() + "]" + super.render() + " (from: " + formatDate(from) + " to: " + formatDate(to) + ")";
     }
 
     /**
@@ -80,7 +98,7 @@ public class Event extends Task {
      */
     @Override
     public String toFileString() {
-        return getType() + " | " + (isDone ? "1" : "0") + " | " + description + " | " + from + " | " + to;
+        return getType() + " | " + toDoneField() + " | " + description + " | " + from + " | " + to;
     }
 
     /**
@@ -90,11 +108,23 @@ public class Event extends Task {
      * @return The event from the file string.
      */
     public static Event eventFromFileString(String fileString) {
-        String[] taskDetails = fileString.split(" \\| ");
-        boolean isDone = taskDetails[1].equals("1");
-        String description = taskDetails[2];
-        LocalDate from = LocalDate.parse(taskDetails[3]);
-        LocalDate to = LocalDate.parse(taskDetails[4]);
-        return new Event(description, from, to, isDone);
+        return eventFromFields(new FieldScanner(fileString));
+    }
+
+    /**
+     * Creates an event from the fields of a file string, starting from its type.
+     *
+     * @param fields The scanner positioned before the type of the event.
+     * @return The event from the fields.
+     */
+    public static Event eventFromFields(FieldScanner fields) {
+        fields.nextRequired(FILE_FIELD_SEPARATOR);
+        FieldScanner doneField = fields.nextRequired(FILE_FIELD_SEPARATOR).fieldScanner();
+        String description = fields.nextRequired(FILE_FIELD_SEPARATOR).field();
+        LocalDate from = fields.nextRequired(FILE_FIELD_SEPARATOR).fieldAsDate();
+        LocalDate to = fields.nextRequired(FILE_FIELD_SEPARATOR).fieldAsDate();
+        Event event = new Event(description, from, to);
+        event.readDoneField(doneField);
+        return event;
     }
 }
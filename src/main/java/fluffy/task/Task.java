@@ -1,14 +1,26 @@
 package fluffy.task;
 
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
+import fluffy.parser.FieldScanner;
+
 /**
  * Represents a task.
+ * The text shown to the user is rendered once and kept until the task changes, since the same tasks are shown
+ * again by every list and find.
  */
 public abstract class Task {
+    /** The separator between the fields of a task saved to the file. */
+    public static final String FILE_FIELD_SEPARATOR = " | ";
+    /** The separator between the done flag and the date the task was done, as in "1@2023-09-01". */
+    public static final char DONE_DATE_SEPARATOR = '@';
     protected static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("MMM d yyyy");
     protected boolean isDone;
+    /** The date the task was marked as done, or null if it is not done or was done on an unknown date. */
+    protected LocalDate doneDate;
     protected String description;
+    private String rendered;
     /**
      * Constructor for Task.
      *
@@ -35,11 +47,23 @@ public abstract class Task {
     }
 
     /**
-     * Marks the task as done.
+     * Marks the task as done today, unless it is already done.
      */
     public void markAsDone() {
-        // Mark task as done
+        if (!isDone) {
+            markAsDone(LocalDate.now());
+        }
+    }
+
+    /**
+     * Marks the task as done on a date.
+     *
+     * @param date The date the task was done.
+     */
+    public void markAsDone(LocalDate date) {
         this.isDone = true;
+        this.doneDate = date;
+        this.rendered = null;
     }
 
     /**
@@ -47,6 +71,27 @@ public abstract class Task {
      */
     public void markAsNotDone() {
         this.isDone = false;
+        this.doneDate = null;
+        this.rendered = null;
+    }
+
+    /**
+     * Returns the date the task was marked as done.
+     *
+     * @return The date the task was done, or null if it is not done or was done on an unknown date.
+     */
+    public LocalDate getDoneDate() {
+        return doneDate;
+    }
+
+    /**
+     * Returns whether the task was marked as done before a date. Tasks done on an unknown date never are.
+     *
+     * @param date The date to compare against.
+     * @return Whether the task was done before the date.
+     */
+    public boolean isDoneBefore(LocalDate date) {
+        return isDone && doneDate != null && doneDate.isBefore(date);
     }
 
     public String getDescription() {
@@ -54,16 +99,71 @@ public abstract class Task {
     }
 
     /**
-     * Returns the task in the format to be displayed to the user.
+     * Returns the task in the format to be displayed to the user, rendering it only if it changed since it was
+     * last shown.
      *
      * @return The task in the format to be displayed to the user.
      */
     @Override
     public String toString() {
+        String text = rendered;
+        if (text == null) {
+            text = render();
+            rendered = text;
+        }
+        return text;
+    }
+
+    /**
+     * Renders the task in the format to be displayed to the user.
+     *
+     * @return The task in the format to be displayed to the user.
+     */
+    protected String render() {
         // Return task status icon and description
         return "[" + this.getStatusIcon() + "] " + this.getDescription();
     }
 
+    /**
+     * Returns a date in the format to be displayed to the user.
+     *
+     * @param date The date to be formatted.
+     * @return The formatted date.
+     */
+    protected static String formatDate(LocalDate date) {
+        return DateFormatCache.format(date, DATE_TIME_FORMATTER);
+    }
+
+    /**
+     * Returns the done field of the task in the format to be saved to the file: "0", "1", or "1@" followed by
+     * the date the task was done.
+     *
+     * @return The done field of the task.
+     */
+    protected String toDoneField() {
+        if (!isDone) {
+            return "0";
+        }
+        return doneDate == null ? "1" : "1" + DONE_DATE_SEPARATOR + doneDate;
+    }
+
+    /**
+     * Reads the done field of a task saved to the file, as written by {@link #toDoneField()}.
+     *
+     * @param field The scanner over just the done field.
+     */
+    protected void readDoneField(FieldScanner field) {
+        field.next(DONE_DATE_SEPARATOR);
+        if (!field.fieldEquals("1")) {
+            return;
+        }
+        if (field.nextRest()) {
+            markAsDone(field.fieldAsDate());
+        } else {
+            markAsDone(null);
+        }
+    }
+
     /**
      * Returns the task in the format to be saved to the file.
      *
@@ -1,5 +1,7 @@
 package fluffy.task;
 
+import fluffy.parser.FieldScanner;
+
 /**
  * Represents a todo task.
  */
@@ -31,13 +33,13 @@ public class Todo extends Task {
     }
 
     /**
-     * Returns the todo in the format to be displayed to the user.
+     * Renders the todo in the format to be displayed to the user.
      *
      * @return The todo in the format to be displayed to the user.
      */
     @Override
-    public String toString() {
-        return "[" + this.getType() + "]" + super.toString();
+    protected String render() {
+        return "[" + this.getType() + "]" + super.render();
     }
 
     /**
@@ -47,7 +49,7 @@ public class Todo extends Task {
      */
     @Override
     public String toFileString() {
-        return this.getType() + " | " + (isDone ? "1" : "0") + " | " + description;
+        return this.getType() + " | " + toDoneField() + " | " + description;
     }
 
     /**
@@ -57,9 +59,21 @@ public class Todo extends Task {
      * @return The todo from the file string.
      */
     public static Todo todoFromFileString(String fileString) {
-        String[] taskDetails = fileString.split(" \\| ");
-        boolean isDone = taskDetails[1].equals("1");
-        String description = taskDetails[2];
-        return new Todo(description, isDone);
+        return todoFromFields(new FieldScanner(fileString));
+    }
+
+    /**
+     * Creates a todo from the fields of a file string, starting from its type.
+     *
+     * @param fields The scanner positioned before the type of the todo.
+     * @return The todo from the fields.
+     */
+    public static Todo todoFromFields(FieldScanner fields) {
+        fields.nextRequired(FILE_FIELD_SEPARATOR);
+        FieldScanner doneField = fields.nextRequired(FILE_FIELD_SEPARATOR).fieldScanner();
+        String description = fields.nextRequired(FILE_FIELD_SEPARATOR).field();
+        Todo todo = new Todo(description);
+        todo.readDoneField(doneField);
+        return todo;
     }
 }
@@ -0,0 +1,243 @@
+package fluffy.tasklist;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+import fluffy.task.Deadline;
+import fluffy.task.Event;
+import fluffy.task.Task;
+import fluffy.task.Todo;
+
+/**
+ * Represents a list of tasks stored column by column in primitive arrays rather than as task objects.
+ * Types are stored as bytes, done flags as a bitset, dates (including the date a task was done) as epoch days
+ * and descriptions as UTF-8 in one shared byte arena. A new task object is created as a view whenever a task
+ * is read, so changes made to a view must be written back with {@link #set(int, Task)}.
+ */
+public class ColumnarTaskStore extends AbstractList<Task> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte DEADLINE_TYPE = 'D';
+    private static final byte EVENT_TYPE = 'E';
+    private static final int UNKNOWN_DONE_DAY = Integer.MIN_VALUE;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private final BitSet doneFlags = new BitSet();
+    private int[] startDays = new int[INITIAL_CAPACITY];
+    private int[] endDays = new int[INITIAL_CAPACITY];
+    private int[] doneDays = new int[INITIAL_CAPACITY];
+    private int[] descriptionOffsets = new int[INITIAL_CAPACITY];
+    private int[] descriptionLengths = new int[INITIAL_CAPACITY];
+    private byte[] arena = new byte[INITIAL_CAPACITY * 16];
+    private int arenaSize;
+    private int unusedArenaBytes;
+    private int size;
+
+    /**
+     * Constructor for ColumnarTaskStore. Creates an empty store.
+     */
+    public ColumnarTaskStore() {
+    }
+
+    /**
+     * Constructor for ColumnarTaskStore.
+     *
+     * @param tasks The tasks to be stored, in order.
+     */
+    public ColumnarTaskStore(Collection<Task> tasks) {
+        ensureCapacity(tasks.size());
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        String description = new String(arena, descriptionOffsets[index], descriptionLengths[index],
+                StandardCharsets.UTF_8);
+        boolean isDone = doneFlags.get(index);
+        Task task;
+        switch (types[index]) {
+        case DEADLINE_TYPE:
+            task = new Deadline(description, LocalDate.ofEpochDay(startDays[index]), isDone);
+            break;
+        case EVENT_TYPE:
+            task = new Event(description, LocalDate.ofEpochDay(startDays[index]),
+                    LocalDate.ofEpochDay(endDays[index]), isDone);
+            break;
+        default:
+            task = new Todo(description, isDone);
+            break;
+        }
+        if (isDone && doneDays[index] != UNKNOWN_DONE_DAY) {
+            task.markAsDone(LocalDate.ofEpochDay(doneDays[index]));
+        }
+        return task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previousTask = get(index);
+        boolean isNewDescription = !previousTask.getDescription().equals(task.getDescription());
+        if (isNewDescription) {
+            unusedArenaBytes += descriptionLengths[index];
+        }
+        write(index, task, isNewDescription);
+        compactArenaIfSparse();
+        return previousTask;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        shift(index, size, 1);
+        size++;
+        write(index, task, true);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = get(index);
+        unusedArenaBytes += descriptionLengths[index];
+        shift(index + 1, size, -1);
+        size--;
+        modCount++;
+        compactArenaIfSparse();
+        return task;
+    }
+
+    /**
+     * Removes every task matching a condition, moving the remaining tasks down in a single pass.
+     *
+     * @param filter The condition for tasks to be removed, tested on the tasks in order.
+     * @return Whether any task was removed.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Task> filter) {
+        int keptCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test(get(i))) {
+                unusedArenaBytes += descriptionLengths[i];
+                continue;
+            }
+            if (keptCount != i) {
+                moveTask(i, keptCount);
+            }
+            keptCount++;
+        }
+        if (keptCount == size) {
+            return false;
+        }
+        doneFlags.clear(keptCount, size);
+        size = keptCount;
+        modCount++;
+        compactArenaIfSparse();
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Writes a task into the columns at an index. The description is only copied into the arena if it changed.
+     */
+    private void write(int index, Task task, boolean isNewDescription) {
+        types[index] = (byte) task.getType().charAt(0);
+        doneFlags.set(index, task.isDone());
+        doneDays[index] = task.getDoneDate() == null ? UNKNOWN_DONE_DAY : (int) task.getDoneDate().toEpochDay();
+        if (task instanceof Deadline) {
+            startDays[index] = (int) ((Deadline) task).getBy().toEpochDay();
+        } else if (task instanceof Event) {
+            startDays[index] = (int) ((Event) task).getFrom().toEpochDay();
+            endDays[index] = (int) ((Event) task).getTo().toEpochDay();
+        }
+        if (isNewDescription) {
+            byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+            if (arenaSize + description.length > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + description.length));
+            }
+            System.arraycopy(description, 0, arena, arenaSize, description.length);
+            descriptionOffsets[index] = arenaSize;
+            descriptionLengths[index] = description.length;
+            arenaSize += description.length;
+        }
+    }
+
+    /**
+     * Moves the tasks in a range of indices by a distance, for inserting or removing tasks.
+     */
+    private void shift(int from, int to, int distance) {
+        int count = to - from;
+        System.arraycopy(types, from, types, from + distance, count);
+        System.arraycopy(startDays, from, startDays, from + distance, count);
+        System.arraycopy(endDays, from, endDays, from + distance, count);
+        System.arraycopy(doneDays, from, doneDays, from + distance, count);
+        System.arraycopy(descriptionOffsets, from, descriptionOffsets, from + distance, count);
+        System.arraycopy(descriptionLengths, from, descriptionLengths, from + distance, count);
+        BitSet movedFlags = doneFlags.get(from, to);
+        doneFlags.clear(Math.min(from, from + distance), to);
+        for (int i = movedFlags.nextSetBit(0); i >= 0; i = movedFlags.nextSetBit(i + 1)) {
+            doneFlags.set(from + distance + i);
+        }
+    }
+
+    private void moveTask(int from, int to) {
+        types[to] = types[from];
+        doneFlags.set(to, doneFlags.get(from));
+        startDays[to] = startDays[from];
+        endDays[to] = endDays[from];
+        doneDays[to] = doneDays[from];
+        descriptionOffsets[to] = descriptionOffsets[from];
+        descriptionLengths[to] = descriptionLengths[from];
+    }
+
+    /**
+     * Rewrites the arena without the descriptions of removed tasks, once they take up more than half of it.
+     */
+    private void compactArenaIfSparse() {
+        if (unusedArenaBytes <= arenaSize / 2) {
+            return;
+        }
+        byte[] compactedArena = new byte[Math.max(INITIAL_CAPACITY, arenaSize - unusedArenaBytes)];
+        int compactedSize = 0;
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(arena, descriptionOffsets[i], compactedArena, compactedSize, descriptionLengths[i]);
+            descriptionOffsets[i] = compactedSize;
+            compactedSize += descriptionLengths[i];
+        }
+        arena = compactedArena;
+        arenaSize = compactedSize;
+        unusedArenaBytes = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, types.length + (types.length >> 1));
+        types = Arrays.copyOf(types, newCapacity);
+        startDays = Arrays.copyOf(startDays, newCapacity);
+        endDays = Arrays.copyOf(endDays, newCapacity);
+        doneDays = Arrays.copyOf(doneDays, newCapacity);
+        descriptionOffsets = Arrays.copyOf(descriptionOffsets, newCapacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package fluffy.tasklist;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import fluffy.task.Deadline;
+import fluffy.task.Event;
+import fluffy.task.Task;
+
+/**
+ * Represents an index of the dates of deadlines and events not done yet, kept as epoch days.
+ * Deadlines are sorted by due date, and events are kept in an interval tree, so that date queries
+ * take O(log n + k) time for k results instead of scanning every task. Done tasks are left out, so they never
+ * need to be filtered from the results.
+ */
+class DateIndex {
+    private final TreeMap<Long, Set<Task>> deadlinesByDay = new TreeMap<>();
+    private final Map<Task, IntervalNode> eventNodes = new IdentityHashMap<>();
+    private final Random random = new Random();
+    private IntervalNode eventRoot;
+    private long nextSequenceNumber;
+
+    /**
+     * Constructor for DateIndex.
+     *
+     * @param tasks The tasks to be indexed.
+     */
+    DateIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds a task to the index. Tasks without dates and tasks that are done are ignored.
+     *
+     * @param task The task to be added.
+     */
+    void add(Task task) {
+        if (task.isDone()) {
+            return;
+        }
+        if (task instanceof Deadline) {
+            long by = ((Deadline) task).getBy().toEpochDay();
+            deadlinesByDay.computeIfAbsent(by, day -> new LinkedHashSet<>()).add(task);
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            IntervalNode node = new IntervalNode(event.getFrom().toEpochDay(), event.getTo().toEpochDay(),
+                    nextSequenceNumber++, random.nextInt(), task);
+            eventNodes.put(task, node);
+            IntervalNode[] parts = split(eventRoot, node.start, node.sequenceNumber);
+            eventRoot = merge(merge(parts[0], node), parts[1]);
+        }
+    }
+
+    /**
+     * Removes a task from the index. Tasks not in the index are ignored.
+     *
+     * @param task The task to be removed.
+     */
+    void remove(Task task) {
+        if (task instanceof Deadline) {
+            long by = ((Deadline) task).getBy().toEpochDay();
+            Set<Task> deadlines = deadlinesByDay.get(by);
+            if (deadlines != null) {
+                deadlines.remove(task);
+                if (deadlines.isEmpty()) {
+                    deadlinesByDay.remove(by);
+                }
+            }
+        } else if (task instanceof Event) {
+            IntervalNode node = eventNodes.remove(task);
+            if (node != null) {
+                eventRoot = remove(eventRoot, node);
+            }
+        }
+    }
+
+    /**
+     * Finds the deadlines not done yet that are due on or before a date, earliest first.
+     *
+     * @param date The latest due date.
+     * @return The deadlines due on or before the date.
+     */
+    List<Task> findDeadlinesDueBy(LocalDate date) {
+        List<Task> foundTasks = new ArrayList<>();
+        for (Set<Task> deadlines : deadlinesByDay.headMap(date.toEpochDay(), true).values()) {
+            foundTasks.addAll(deadlines);
+        }
+        return foundTasks;
+    }
+
+    /**
+     * Finds the deadlines not done yet that are due within a date range, then the events not done yet that
+     * overlap it, each earliest first.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return The deadlines and events within the range.
+     */
+    List<Task> findOverlapping(LocalDate from, LocalDate to) {
+        List<Task> foundTasks = new ArrayList<>();
+        for (Set<Task> deadlines : deadlinesByDay.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+            foundTasks.addAll(deadlines);
+        }
+        List<Task> foundEvents = new ArrayList<>();
+        collectOverlapping(eventRoot, from.toEpochDay(), to.toEpochDay(), foundEvents);
+        foundTasks.addAll(foundEvents);
+        return foundTasks;
+    }
+
+    /**
+     * Collects the events in a subtree that overlap a range, in order of start date.
+     * Subtrees whose events all end before the range are skipped using their latest end date.
+     */
+    private static void collectOverlapping(IntervalNode node, long from, long to, List<Task> foundEvents) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        collectOverlapping(node.left, from, to, foundEvents);
+        if (node.start > to) {
+            return;
+        }
+        if (node.end >= from) {
+            foundEvents.add(node.task);
+        }
+        collectOverlapping(node.right, from, to, foundEvents);
+    }
+
+    /**
+     * Splits a subtree into the nodes ordered before a key and the nodes ordered after it.
+     */
+    private static IntervalNode[] split(IntervalNode node, long start, long sequenceNumber) {
+        if (node == null) {
+            return new IntervalNode[] {null, null};
+        }
+        if (node.isBefore(start, sequenceNumber)) {
+            IntervalNode[] parts = split(node.right, start, sequenceNumber);
+            node.right = parts[0];
+            node.update();
+            return new IntervalNode[] {node, parts[1]};
+        }
+        IntervalNode[] parts = split(node.left, start, sequenceNumber);
+        node.left = parts[1];
+        node.update();
+        return new IntervalNode[] {parts[0], node};
+    }
+
+    /**
+     * Merges two subtrees, where every node of the first is ordered before every node of the second.
+     */
+    private static IntervalNode merge(IntervalNode first, IntervalNode second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.update();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.update();
+        return second;
+    }
+
+    private static IntervalNode remove(IntervalNode node, IntervalNode target) {
+        if (node == null) {
+            return null;
+        }
+        if (node == target) {
+            return merge(node.left, node.right);
+        }
+        if (node.isBefore(target.start, target.sequenceNumber)) {
+            node.right = remove(node.right, target);
+        } else {
+            node.left = remove(node.left, target);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Represents an event in the interval tree, a treap ordered by start date and then by insertion.
+     * Each node also tracks the latest end date in its subtree.
+     */
+    private static class IntervalNode {
+        private final long start;
+        private final long end;
+        private final long sequenceNumber;
+        private final int priority;
+        private final Task task;
+        private long maxEnd;
+        private IntervalNode left;
+        private IntervalNode right;
+
+        IntervalNode(long start, long end, long sequenceNumber, int priority, Task task) {
+            this.start = start;
+            this.end = end;
+            this.sequenceNumber = sequenceNumber;
+            this.priority = priority;
+            this.task = task;
+            this.maxEnd = end;
+        }
+
+        boolean isBefore(long otherStart, long otherSequenceNumber) {
+            return start < otherStart || (start == otherStart && sequenceNumber < otherSequenceNumber);
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+            }
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package fluffy.tasklist;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Month;
+import java.time.Year;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import fluffy.FluffyException;
+import fluffy.task.Task;
+
+/**
+ * Represents a list of tasks kept as the raw lines of a text file, each decoded into a task the first time it is
+ * read. Loading only finds where each line starts, so it stays fast however many tasks there are, and tasks that
+ * are never read are never decoded. A decoded task is kept, so reading the same task twice gives the same object.
+ * Lines that were never decoded can be searched and saved again without being decoded.
+ */
+public class LazyTaskList extends AbstractList<Task> implements RandomAccess {
+    /**
+     * Represents a way of decoding a task from one line of a file.
+     */
+    public interface RecordDecoder {
+        Task decode(String record) throws FluffyException;
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte[] FIELD_SEPARATOR = Task.FILE_FIELD_SEPARATOR.getBytes(StandardCharsets.UTF_8);
+    /** The number of fields before the description of a line: the type, the type again and the done flag. */
+    private static final int FIELDS_BEFORE_DESCRIPTION = 3;
+    private static final int DONE_FIELD = 2;
+    private static final int DATE_LENGTH = 10;
+
+    private final byte[] contents;
+    private final RecordDecoder decoder;
+    private Task[] tasks;
+    private int[] recordStarts;
+    private int[] recordEnds;
+    private int size;
+
+    /**
+     * Constructor for LazyTaskList.
+     *
+     * @param contents The contents of a text file, with one task per line.
+     * @param decoder The decoder for the lines of the file.
+     * @throws FluffyException If a line is not a valid task, such as one missing a field or with an invalid date.
+     */
+    public LazyTaskList(byte[] contents, RecordDecoder decoder) throws FluffyException {
+        this.contents = contents;
+        this.decoder = decoder;
+        int lineCount = countLines(contents);
+        int capacity = Math.max(INITIAL_CAPACITY, lineCount);
+        tasks = new Task[capacity];
+        recordStarts = new int[capacity];
+        recordEnds = new int[capacity];
+        int lineStart = 0;
+        while (lineStart < contents.length) {
+            int lineEnd = indexOf(contents, (byte) '\n', lineStart, contents.length);
+            if (lineEnd < 0) {
+                lineEnd = contents.length;
+            }
+            recordStarts[size] = lineStart;
+            recordEnds[size] = lineEnd > lineStart && contents[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            checkRecord(size);
+            size++;
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Retrieves a task, decoding it from its line the first time it is read.
+     * Every line was checked when the list was constructed, so decoding it does not fail.
+     *
+     * @param index The index of the task.
+     * @return The task.
+     */
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        Task task = tasks[index];
+        if (task == null) {
+            task = decode(index);
+            tasks[index] = task;
+        }
+        return task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previousTask = get(index);
+        tasks[index] = task;
+        return previousTask;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        shift(index, size, 1);
+        size++;
+        tasks[index] = task;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = get(index);
+        shift(index + 1, size, -1);
+        size--;
+        tasks[size] = null;
+        modCount++;
+        return task;
+    }
+
+    /**
+     * Removes every task matching a condition, moving the remaining tasks down in a single pass.
+     *
+     * @param filter The condition for tasks to be removed, tested on the tasks in order.
+     * @return Whether any task was removed.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Task> filter) {
+        int keptCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test(get(i))) {
+                continue;
+            }
+            if (keptCount != i) {
+                tasks[keptCount] = tasks[i];
+                recordStarts[keptCount] = recordStarts[i];
+                recordEnds[keptCount] = recordEnds[i];
+            }
+            keptCount++;
+        }
+        if (keptCount == size) {
+            return false;
+        }
+        Arrays.fill(tasks, keptCount, size, null);
+        size = keptCount;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the tasks whose description contains a keyword. Lines not decoded yet are searched as UTF-8 bytes,
+     * so only the tasks found are decoded.
+     *
+     * @param keyword The keyword to search for.
+     * @return The tasks whose description contains the keyword, in order.
+     */
+    public List<Task> findByDescription(String keyword) {
+        byte[] keywordBytes = keyword.getBytes(StandardCharsets.UTF_8);
+        List<Task> foundTasks = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (tasks[i] != null) {
+                if (tasks[i].getDescription().contains(keyword)) {
+                    foundTasks.add(tasks[i]);
+                }
+            } else if (isInDescription(keywordBytes, recordStarts[i], recordEnds[i])) {
+                foundTasks.add(get(i));
+            }
+        }
+        return foundTasks;
+    }
+
+    /**
+     * Encodes the tasks into the contents of a text file, one task per line. Lines not decoded yet are copied
+     * as they are, since nothing can have changed them.
+     *
+     * @param encoder The encoder for tasks that were decoded or added.
+     * @return The contents of the file.
+     */
+    public byte[] encode(Function<Task, String> encoder) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(contents.length + INITIAL_CAPACITY);
+        for (int i = 0; i < size; i++) {
+            if (tasks[i] != null) {
+                byte[] line = encoder.apply(tasks[i]).getBytes(StandardCharsets.UTF_8);
+                out.write(line, 0, line.length);
+            } else {
+                out.write(contents, recordStarts[i], recordEnds[i] - recordStarts[i]);
+            }
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns the number of tasks that have been decoded or added so far.
+     *
+     * @return The number of tasks held as objects.
+     */
+    public int getDecodedCount() {
+        int decodedCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (tasks[i] != null) {
+                decodedCount++;
+            }
+        }
+        return decodedCount;
+    }
+
+    private Task decode(int index) {
+        try {
+            return decodeChecked(index);
+        } catch (FluffyException e) {
+            throw new IllegalStateException("Error reading task " + (index + 1), e);
+        }
+    }
+
+    private Task decodeChecked(int index) throws FluffyException {
+        String record = new String(contents, recordStarts[index], recordEnds[index] - recordStarts[index],
+                StandardCharsets.UTF_8);
+        try {
+            return decoder.decode(record);
+        } catch (RuntimeException e) {
+            throw new FluffyException("Error reading from file");
+        }
+    }
+
+    /**
+     * Checks that a line has every field its type needs and that its dates are valid, so that it can be decoded
+     * whenever it is read. The fields are checked as bytes, without decoding the line. A line with a date in any
+     * form other than yyyy-mm-dd is rare, so it is decoded right away instead.
+     */
+    private void checkRecord(int index) throws FluffyException {
+        int start = recordStarts[index];
+        int end = recordEnds[index];
+        checkType(start, end);
+        int dateCount = contents[start] == 'T' ? 0 : contents[start] == 'D' ? 1 : 2;
+        boolean isPlain = true;
+        int fieldStart = start;
+        for (int field = 0; field <= FIELDS_BEFORE_DESCRIPTION + dateCount; field++) {
+            if (fieldStart > end) {
+                throw new FluffyException("Error reading from file");
+            }
+            int separator = indexOf(contents, FIELD_SEPARATOR, fieldStart, end);
+            int fieldEnd = separator < 0 ? end : separator;
+            if (field == DONE_FIELD) {
+                isPlain &= isPlainDoneField(fieldStart, fieldEnd);
+            } else if (field > FIELDS_BEFORE_DESCRIPTION) {
+                isPlain &= isPlainDate(fieldStart, fieldEnd);
+            }
+            fieldStart = separator < 0 ? end + 1 : separator + FIELD_SEPARATOR.length;
+        }
+        if (!isPlain) {
+            tasks[index] = decodeChecked(index);
+        }
+    }
+
+    /**
+     * Returns whether a done flag needs no date, or has a date in the form yyyy-mm-dd, as in "1@2023-09-01".
+     * Any flag other than "1" means the task is not done, so its date is never read.
+     */
+    private boolean isPlainDoneField(int start, int end) {
+        int separator = indexOf(contents, (byte) Task.DONE_DATE_SEPARATOR, start, end);
+        if (separator != start + 1 || contents[start] != '1') {
+            return true;
+        }
+        return isPlainDate(separator + 1, end);
+    }
+
+    /**
+     * Returns whether a field is a valid date in the form yyyy-mm-dd.
+     */
+    private boolean isPlainDate(int start, int end) {
+        if (end - start != DATE_LENGTH || contents[start + 4] != '-' || contents[start + 7] != '-') {
+            return false;
+        }
+        int year = digits(start, start + 4);
+        int month = digits(start + 5, start + 7);
+        int day = digits(start + 8, end);
+        return year >= 0 && month >= 1 && month <= 12 && day >= 1
+                && day <= Month.of(month).length(Year.isLeap(year));
+    }
+
+    /**
+     * Returns the value of a run of ASCII digits, or -1 if any byte is not a digit.
+     */
+    private int digits(int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = contents[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Checks that a line starts with the type of a task.
+     */
+    private void checkType(int start, int end) throws FluffyException {
+        int typeEnd = start + 1;
+        boolean isKnownType = typeEnd < end && (contents[start] == 'T' || contents[start] == 'D'
+                || contents[start] == 'E');
+        if (!isKnownType || indexOf(contents, FIELD_SEPARATOR, typeEnd, end) != typeEnd) {
+            throw new FluffyException("Error reading from file");
+        }
+    }
+
+    /**
+     * Returns whether a keyword occurs in the description of a line, which starts after the first three fields
+     * and ends at the next field or the end of the line, as it does when the line is decoded.
+     */
+    private boolean isInDescription(byte[] keyword, int start, int end) {
+        int descriptionStart = start;
+        for (int field = 0; field < FIELDS_BEFORE_DESCRIPTION; field++) {
+            int separator = indexOf(contents, FIELD_SEPARATOR, descriptionStart, end);
+            if (separator < 0) {
+                return false;
+            }
+            descriptionStart = separator + FIELD_SEPARATOR.length;
+        }
+        int descriptionEnd = indexOf(contents, FIELD_SEPARATOR, descriptionStart, end);
+        if (descriptionEnd < 0) {
+            descriptionEnd = end;
+        }
+        return indexOf(contents, keyword, descriptionStart, descriptionEnd) >= 0;
+    }
+
+    private static int countLines(byte[] contents) {
+        int lineCount = 0;
+        for (byte b : contents) {
+            if (b == '\n') {
+                lineCount++;
+            }
+        }
+        return contents.length > 0 && contents[contents.length - 1] != '\n' ? lineCount + 1 : lineCount;
+    }
+
+    private static int indexOf(byte[] bytes, byte target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first occurrence of a sequence of bytes within a range. UTF-8 never encodes a character as part
+     * of another, so this matches characters exactly as {@link String#contains(CharSequence)} does.
+     */
+    private static int indexOf(byte[] bytes, byte[] target, int from, int to) {
+        if (target.length == 0) {
+            return from;
+        }
+        int last = to - target.length;
+        for (int i = indexOf(bytes, target[0], from, last + 1); i >= 0; i = indexOf(bytes, target[0], i + 1,
+                last + 1)) {
+            if (Arrays.equals(bytes, i, i + target.length, target, 0, target.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void shift(int from, int to, int distance) {
+        int count = to - from;
+        System.arraycopy(tasks, from, tasks, from + distance, count);
+        System.arraycopy(recordStarts, from, recordStarts, from + distance, count);
+        System.arraycopy(recordEnds, from, recordEnds, from + distance, count);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= tasks.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, tasks.length + (tasks.length >> 1));
+        tasks = Arrays.copyOf(tasks, newCapacity);
+        recordStarts = Arrays.copyOf(recordStarts, newCapacity);
+        recordEnds = Arrays.copyOf(recordEnds, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
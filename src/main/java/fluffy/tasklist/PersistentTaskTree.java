@@ -0,0 +1,308 @@
+package fluffy.tasklist;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+import fluffy.task.Task;
+
+/**
+ * Represents a list of tasks kept in a balanced binary tree ordered by position, whose nodes are never changed.
+ * Every change copies only the O(log n) nodes on the path to the task it changes and shares the rest of the tree,
+ * so a {@link Version} of the list can be kept in O(1) time and memory, and later restored in O(1) time.
+ * Older versions only cost the memory of the nodes that changed since.
+ */
+public class PersistentTaskTree extends AbstractList<Task> {
+    private Node root;
+
+    /**
+     * Represents the tasks of a tree at one moment, which later changes to the tree do not affect.
+     */
+    public static final class Version {
+        private final Node root;
+
+        private Version(Node root) {
+            this.root = root;
+        }
+    }
+
+    /**
+     * Constructor for PersistentTaskTree. Creates an empty tree.
+     */
+    public PersistentTaskTree() {
+    }
+
+    /**
+     * Constructor for PersistentTaskTree. The tree is built balanced in O(n) time.
+     *
+     * @param tasks The tasks to be stored, in order.
+     */
+    public PersistentTaskTree(Collection<Task> tasks) {
+        Task[] taskArray = tasks.toArray(new Task[0]);
+        root = build(taskArray, 0, taskArray.length);
+    }
+
+    /**
+     * Keeps the current tasks of the tree.
+     *
+     * @return The current version of the tree.
+     */
+    public Version snapshot() {
+        return new Version(root);
+    }
+
+    /**
+     * Replaces the tasks of the tree with those of an earlier version.
+     *
+     * @param version The version to go back to.
+     */
+    public void restore(Version version) {
+        root = version.root;
+        modCount++;
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        Node node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.task;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previousTask = get(index);
+        root = replace(root, index, task);
+        return previousTask;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        root = insert(root, index, task);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = get(index);
+        root = delete(root, index);
+        modCount++;
+        return task;
+    }
+
+    /**
+     * Removes every task matching a condition. A few tasks are removed one by one, so that the new tree still
+     * shares most of its nodes with the old one; many tasks are removed by rebuilding the tree once in O(n) time.
+     *
+     * @param filter The condition for tasks to be removed.
+     * @return Whether any task was removed.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Task> filter) {
+        List<Task> keptTasks = new ArrayList<>(size());
+        List<Integer> removedIndices = new ArrayList<>();
+        int index = 0;
+        for (Task task : this) {
+            if (filter.test(task)) {
+                removedIndices.add(index);
+            } else {
+                keptTasks.add(task);
+            }
+            index++;
+        }
+        if (removedIndices.isEmpty()) {
+            return false;
+        }
+        if ((long) removedIndices.size() * heightOf(root) < size()) {
+            for (int i = removedIndices.size() - 1; i >= 0; i--) {
+                root = delete(root, removedIndices.get(i));
+            }
+        } else {
+            root = build(keptTasks.toArray(new Task[0]), 0, keptTasks.size());
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Returns an iterator over the tasks in order, which visits every node once instead of searching for each index.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new InOrderIterator();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    private static Node build(Task[] tasks, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return new Node(tasks[middle], build(tasks, from, middle), build(tasks, middle + 1, to));
+    }
+
+    private static Node replace(Node node, int index, Task task) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            return new Node(node.task, replace(node.left, index, task), node.right);
+        } else if (index > leftSize) {
+            return new Node(node.task, node.left, replace(node.right, index - leftSize - 1, task));
+        }
+        return new Node(task, node.left, node.right);
+    }
+
+    private static Node insert(Node node, int index, Task task) {
+        if (node == null) {
+            return new Node(task, null, null);
+        }
+        int leftSize = sizeOf(node.left);
+        if (index <= leftSize) {
+            return balance(node.task, insert(node.left, index, task), node.right);
+        }
+        return balance(node.task, node.left, insert(node.right, index - leftSize - 1, task));
+    }
+
+    private static Node delete(Node node, int index) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            return balance(node.task, delete(node.left, index), node.right);
+        } else if (index > leftSize) {
+            return balance(node.task, node.left, delete(node.right, index - leftSize - 1));
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        }
+        // Replace the task with the next one in order, then remove that one from the right subtree.
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.task, node.left, delete(node.right, 0));
+    }
+
+    /**
+     * Creates a node from a task and two subtrees whose heights differ by at most two, rotating new nodes
+     * to restore the AVL balance if needed.
+     */
+    private static Node balance(Task task, Node left, Node right) {
+        int balance = heightOf(left) - heightOf(right);
+        if (balance > 1) {
+            if (heightOf(left.left) >= heightOf(left.right)) {
+                return new Node(left.task, left.left, new Node(task, left.right, right));
+            }
+            Node middle = left.right;
+            return new Node(middle.task, new Node(left.task, left.left, middle.left),
+                    new Node(task, middle.right, right));
+        }
+        if (balance < -1) {
+            if (heightOf(right.right) >= heightOf(right.left)) {
+                return new Node(right.task, new Node(task, left, right.left), right.right);
+            }
+            Node middle = right.left;
+            return new Node(middle.task, new Node(task, left, middle.left),
+                    new Node(right.task, middle.right, right.right));
+        }
+        return new Node(task, left, right);
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int heightOf(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Represents a task in the tree, along with the size and height of its subtree. Nodes are never changed
+     * once created, so that they can be shared between versions.
+     */
+    private static class Node {
+        private final Task task;
+        private final Node left;
+        private final Node right;
+        private final int size;
+        private final int height;
+
+        Node(Task task, Node left, Node right) {
+            this.task = task;
+            this.left = left;
+            this.right = right;
+            this.size = sizeOf(left) + sizeOf(right) + 1;
+            this.height = Math.max(heightOf(left), heightOf(right)) + 1;
+        }
+    }
+
+    /**
+     * Represents an iterator that walks the tree in order, keeping the path to the next node on a stack.
+     */
+    private class InOrderIterator implements Iterator<Task> {
+        private final Deque<Node> path = new ArrayDeque<>();
+        private final int expectedModCount = modCount;
+
+        InOrderIterator() {
+            pushLeftPath(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public Task next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node node = path.pop();
+            pushLeftPath(node.right);
+            return node.task;
+        }
+
+        private void pushLeftPath(Node node) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package fluffy.tasklist;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import fluffy.task.Task;
+
+/**
+ * Represents the changes made to a task list by one command, which can be undone and redone.
+ * For a list kept in a {@link PersistentTaskTree}, it also holds the versions of the tree before and after the
+ * changes, so that the tasks are put back by swapping versions instead of repeating every change.
+ */
+class Revision {
+    private final List<Change> changes;
+    private final PersistentTaskTree.Version before;
+    private final PersistentTaskTree.Version after;
+
+    /**
+     * Represents the kinds of changes made to a task list.
+     */
+    enum Kind {
+        ADDED, DELETED, UPDATED
+    }
+
+    /**
+     * Represents one change made to a task list. Tasks can be marked in place, so an update keeps the done state
+     * of the task before and after it; a version of the tree cannot restore it.
+     */
+    static class Change {
+        private final Kind kind;
+        private final int index;
+        private final Task task;
+        private final LocalDate doneDateBefore;
+        private final boolean wasDone;
+        private final LocalDate doneDateAfter;
+        private final boolean isDone;
+
+        /**
+         * Constructor for Change.
+         *
+         * @param kind The kind of change.
+         * @param index The index of the task that changed.
+         * @param task The task that changed.
+         * @param wasDone Whether the task was done before the change.
+         * @param doneDateBefore The date the task was done before the change, or null if unknown or not done.
+         */
+        Change(Kind kind, int index, Task task, boolean wasDone, LocalDate doneDateBefore) {
+            this.kind = kind;
+            this.index = index;
+            this.task = task;
+            this.wasDone = wasDone;
+            this.doneDateBefore = doneDateBefore;
+            this.isDone = task.isDone();
+            this.doneDateAfter = task.getDoneDate();
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        int getIndex() {
+            return index;
+        }
+
+        Task getTask() {
+            return task;
+        }
+
+        /**
+         * Puts back the done state the task had before or after the change.
+         *
+         * @param isBefore Whether to put back the state before the change.
+         */
+        void restoreDoneState(boolean isBefore) {
+            if (isBefore ? wasDone : isDone) {
+                task.markAsDone(isBefore ? doneDateBefore : doneDateAfter);
+            } else {
+                task.markAsNotDone();
+            }
+        }
+    }
+
+    /**
+     * Constructor for Revision.
+     *
+     * @param changes The changes, in the order they were made.
+     * @param before The version of the tree before the changes, or null if the list is not a tree.
+     * @param after The version of the tree after the changes, or null if the list is not a tree.
+     */
+    Revision(List<Change> changes, PersistentTaskTree.Version before, PersistentTaskTree.Version after) {
+        this.changes = changes;
+        this.before = before;
+        this.after = after;
+    }
+
+    List<Change> getChanges() {
+        return changes;
+    }
+
+    PersistentTaskTree.Version getBefore() {
+        return before;
+    }
+
+    PersistentTaskTree.Version getAfter() {
+        return after;
+    }
+}
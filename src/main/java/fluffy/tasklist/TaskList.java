@@ -1,19 +1,38 @@
 package fluffy.tasklist;
 
+import java.time.LocalDate;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 
 import fluffy.FluffyException;
+import fluffy.metrics.IndexEvent;
 import fluffy.task.Task;
 
 /**
  * Represents a list of tasks.
  */
 public class TaskList {
+    private static final String ALL_INDEXES = "all";
+    private static final int DEFAULT_UNDO_LIMIT = 100;
 
     private List<Task> tasks;
+    private final List<TaskListObserver> observers = new ArrayList<>();
+    private long modificationCount;
+    private TrigramIndex trigramIndex;
+    private DateIndex dateIndex;
+    private TaskStatistics statistics;
+    private final Deque<Revision> undoRevisions = new ArrayDeque<>();
+    private final Deque<Revision> redoRevisions = new ArrayDeque<>();
+    private List<Revision.Change> pendingChanges = new ArrayList<>();
+    private PersistentTaskTree.Version committedVersion;
+    private int undoLimit = DEFAULT_UNDO_LIMIT;
+    private boolean isReplayingHistory;
 
     /**
      * Constructor for TaskList.
@@ -21,13 +40,15 @@ public class TaskList {
      */
     public TaskList(List<Task> tasks) {
         this.tasks = tasks;
+        this.committedVersion = snapshot();
     }
 
     /**
-     * Constructor for TaskList. Creates an empty list of tasks.
+     * Constructor for TaskList. Creates an empty list of tasks, kept in a persistent tree so that positional
+     * changes take O(log n) time and undoing a command takes O(1) time.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(new PersistentTaskTree());
     }
 
     /**
@@ -36,6 +57,9 @@ public class TaskList {
      */
     public void addTask(Task task) {
         tasks.add(task);
+        onTaskAdded(tasks.size() - 1, task);
+        recordChange(new Revision.Change(Revision.Kind.ADDED, tasks.size() - 1, task, task.isDone(),
+                task.getDoneDate()));
     }
 
     /**
@@ -47,7 +71,187 @@ public class TaskList {
         if (index < 0 || index >= tasks.size()) {
             throw new FluffyException("The task number is out of bounds.");
         }
-        tasks.remove(index);
+        Task task = tasks.remove(index);
+        onTaskDeleted(index, task);
+        recordDeletion(index, task);
+    }
+
+    /**
+     * Marks a task in the list of tasks as done.
+     *
+     * @param index The index of the task to be marked as done.
+     * @return The task that was marked as done.
+     * @throws FluffyException If the index is out of bounds.
+     */
+    public Task markTask(int index) throws FluffyException {
+        Task task = getTask(index);
+        boolean wasDone = task.isDone();
+        LocalDate doneDateBefore = task.getDoneDate();
+        task.markAsDone();
+        tasks.set(index, task);
+        onTaskUpdated(index, task, wasDone);
+        recordChange(new Revision.Change(Revision.Kind.UPDATED, index, task, wasDone, doneDateBefore));
+        return task;
+    }
+
+    /**
+     * Marks a task in the list of tasks as not done.
+     *
+     * @param index The index of the task to be marked as not done.
+     * @return The task that was marked as not done.
+     * @throws FluffyException If the index is out of bounds.
+     */
+    public Task unmarkTask(int index) throws FluffyException {
+        Task task = getTask(index);
+        boolean wasDone = task.isDone();
+        LocalDate doneDateBefore = task.getDoneDate();
+        task.markAsNotDone();
+        tasks.set(index, task);
+        onTaskUpdated(index, task, wasDone);
+        recordChange(new Revision.Change(Revision.Kind.UPDATED, index, task, wasDone, doneDateBefore));
+        return task;
+    }
+
+    /**
+     * Deletes several tasks from the list of tasks in a single pass.
+     *
+     * @param indices The indices of the tasks to be deleted.
+     * @return The tasks that were deleted, in order.
+     * @throws FluffyException If any index is out of bounds, in which case no task is deleted.
+     */
+    public List<Task> deleteTasks(BitSet indices) throws FluffyException {
+        checkIndices(indices);
+        return removeTasks((index, task) -> indices.get(index));
+    }
+
+    /**
+     * Deletes every task that is done from the list of tasks in a single pass.
+     *
+     * @return The tasks that were deleted, in order.
+     */
+    public List<Task> purgeDoneTasks() {
+        return removeTasks((index, task) -> task.isDone());
+    }
+
+    /**
+     * Deletes every task that was marked as done before a date from the list of tasks in a single pass.
+     * Tasks done on an unknown date are kept.
+     *
+     * @param date The date tasks must have been done before to be deleted.
+     * @return The tasks that were deleted, in order.
+     */
+    public List<Task> purgeTasksDoneBefore(LocalDate date) {
+        return removeTasks((index, task) -> task.isDoneBefore(date));
+    }
+
+    /**
+     * Marks several tasks in the list of tasks as done.
+     *
+     * @param indices The indices of the tasks to be marked as done.
+     * @return The tasks that were marked as done, in order.
+     * @throws FluffyException If any index is out of bounds, in which case no task is marked.
+     */
+    public List<Task> markTasks(BitSet indices) throws FluffyException {
+        checkIndices(indices);
+        List<Task> markedTasks = new ArrayList<>();
+        for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+            markedTasks.add(markTask(i));
+        }
+        return markedTasks;
+    }
+
+    /**
+     * Marks several tasks in the list of tasks as not done.
+     *
+     * @param indices The indices of the tasks to be marked as not done.
+     * @return The tasks that were marked as not done, in order.
+     * @throws FluffyException If any index is out of bounds, in which case no task is unmarked.
+     */
+    public List<Task> unmarkTasks(BitSet indices) throws FluffyException {
+        checkIndices(indices);
+        List<Task> unmarkedTasks = new ArrayList<>();
+        for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+            unmarkedTasks.add(unmarkTask(i));
+        }
+        return unmarkedTasks;
+    }
+
+    /**
+     * Seals the changes made since the last call into one revision, which {@link #undo()} takes back as a whole.
+     * Nothing is recorded if nothing has changed, and the revisions undone so far can no longer be redone
+     * otherwise.
+     */
+    public void commitRevision() {
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+        PersistentTaskTree.Version version = snapshot();
+        undoRevisions.addLast(new Revision(pendingChanges, committedVersion, version));
+        if (undoRevisions.size() > undoLimit) {
+            undoRevisions.removeFirst();
+        }
+        redoRevisions.clear();
+        pendingChanges = new ArrayList<>();
+        committedVersion = version;
+    }
+
+    /**
+     * Takes back the changes of the last revision. A persistent tree goes back to its earlier version in O(1) time,
+     * while other lists reverse the changes one by one.
+     *
+     * @return The number of changes taken back, or 0 if there is nothing to undo.
+     */
+    public int undo() {
+        commitRevision();
+        Revision revision = undoRevisions.pollLast();
+        if (revision == null) {
+            return 0;
+        }
+        replay(revision, true);
+        redoRevisions.push(revision);
+        return revision.getChanges().size();
+    }
+
+    /**
+     * Makes the changes of the last undone revision again.
+     *
+     * @return The number of changes made again, or 0 if there is nothing to redo.
+     */
+    public int redo() {
+        commitRevision();
+        Revision revision = redoRevisions.poll();
+        if (revision == null) {
+            return 0;
+        }
+        replay(revision, false);
+        undoRevisions.addLast(revision);
+        return revision.getChanges().size();
+    }
+
+    /**
+     * Forgets every revision, so that changes made so far can no longer be undone.
+     */
+    public void clearHistory() {
+        undoRevisions.clear();
+        redoRevisions.clear();
+        pendingChanges = new ArrayList<>();
+        committedVersion = snapshot();
+    }
+
+    /**
+     * Sets the number of revisions that can be undone. Older revisions are forgotten, along with the
+     * versions of the tree they hold on to.
+     *
+     * @param undoLimit The number of revisions kept, or 0 to keep none.
+     */
+    public void setUndoLimit(int undoLimit) {
+        this.undoLimit = Math.max(0, undoLimit);
+        while (undoRevisions.size() > this.undoLimit) {
+            undoRevisions.removeFirst();
+        }
+        if (this.undoLimit == 0) {
+            clearHistory();
+        }
     }
 
     /**
@@ -64,6 +268,24 @@ public class TaskList {
         return tasks.get(index);
     }
 
+    /**
+     * Registers an observer to be notified of every change made to the list of tasks.
+     *
+     * @param observer The observer to be registered.
+     */
+    public void addObserver(TaskListObserver observer) {
+        observers.add(observer);
+    }
+
+    /**
+     * Unregisters an observer previously registered with {@link #addObserver(TaskListObserver)}.
+     *
+     * @param observer The observer to be unregistered.
+     */
+    public void removeObserver(TaskListObserver observer) {
+        observers.remove(observer);
+    }
+
     /**
      * Filters the tasks in the task list based on a lambda expression.
      *
@@ -79,6 +301,63 @@ public class TaskList {
         return new TaskList(filteredTasks);
     }
 
+    /**
+     * Finds the tasks whose description contains a keyword.
+     * Keywords of at least three characters are looked up in a trigram index, which is built on the first search
+     * and kept up to date afterwards. Shorter keywords are matched against every task. A lazy list is searched
+     * without an index, so that tasks not found are never decoded.
+     *
+     * @param keyword The keyword to search for.
+     * @return A new TaskList object containing the tasks whose description contains the keyword.
+     */
+    public TaskList findTasks(String keyword) {
+        if (tasks instanceof LazyTaskList) {
+            return new TaskList(((LazyTaskList) tasks).findByDescription(keyword));
+        }
+        if (keyword.length() < TrigramIndex.TRIGRAM_LENGTH || !hasStableTasks()) {
+            return filterTasks(task -> task.getDescription().contains(keyword));
+        }
+        if (trigramIndex == null) {
+            IndexEvent event = new IndexEvent();
+            event.begin();
+            trigramIndex = new TrigramIndex(tasks);
+            event.finish(TrigramIndex.class.getSimpleName(), "build", tasks.size());
+        }
+        return new TaskList(trigramIndex.find(keyword));
+    }
+
+    /**
+     * Finds the deadlines not done yet that are due on or before a date, earliest first.
+     *
+     * @param date The latest due date.
+     * @return A new TaskList object containing the deadlines due on or before the date.
+     */
+    public TaskList findDueBy(LocalDate date) {
+        return new TaskList(getDateIndex().findDeadlinesDueBy(date));
+    }
+
+    /**
+     * Finds the deadlines not done yet that were due before a date, earliest first.
+     *
+     * @param today The date to compare due dates against.
+     * @return A new TaskList object containing the overdue deadlines.
+     */
+    public TaskList findOverdue(LocalDate today) {
+        return findDueBy(today.minusDays(1));
+    }
+
+    /**
+     * Finds the deadlines not done yet that are due within a date range, then the events not done yet that
+     * overlap it, each earliest first.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return A new TaskList object containing the deadlines and events within the range.
+     */
+    public TaskList findOverlapping(LocalDate from, LocalDate to) {
+        return new TaskList(getDateIndex().findOverlapping(from, to));
+    }
+
     /**
      * Retrieves the size of the list of tasks.
      *
@@ -97,17 +376,222 @@ public class TaskList {
         return tasks;
     }
 
+    /**
+     * Retrieves the number of changes made to the list of tasks so far.
+     * Two equal counts mean nothing has changed in between.
+     *
+     * @return The number of changes made to the list of tasks.
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     /**
      * Retrieves the breakdown of tasks by type.
      *
      * @return The breakdown of tasks by type.
      */
     public HashMap<String, Integer> getTaskBreakdown() {
-        HashMap<String, Integer> taskCount = new HashMap<>();
-        for (Task task : tasks) {
-            String taskType = task.getType();
-            taskCount.put(taskType, taskCount.getOrDefault(taskType, 0) + 1);
+        return getStatistics().getCountsByType();
+    }
+
+    /**
+     * Retrieves the statistics of the tasks, which are counted on first use and kept up to date as the tasks
+     * change afterwards.
+     *
+     * @return The statistics of the tasks.
+     */
+    public TaskStatistics getStatistics() {
+        if (statistics == null) {
+            statistics = new TaskStatistics();
+            for (Task task : tasks) {
+                statistics.add(task);
+            }
+        }
+        return statistics;
+    }
+
+    private void checkIndices(BitSet indices) throws FluffyException {
+        if (indices.isEmpty() || indices.length() > tasks.size()) {
+            throw new FluffyException("The task number is out of bounds.");
+        }
+    }
+
+    /**
+     * Removes the tasks matching a condition on their index and task with one removeIf pass over the list,
+     * which tests the tasks in order. Deletions are reported from the last to the first, so that every reported
+     * index is still correct when it is applied.
+     */
+    private List<Task> removeTasks(BiPredicate<Integer, Task> condition) {
+        List<Integer> removedIndices = new ArrayList<>();
+        List<Task> removedTasks = new ArrayList<>();
+        int[] nextIndex = {0};
+        tasks.removeIf(task -> {
+            int index = nextIndex[0]++;
+            if (!condition.test(index, task)) {
+                return false;
+            }
+            removedIndices.add(index);
+            removedTasks.add(task);
+            return true;
+        });
+        for (int i = removedTasks.size() - 1; i >= 0; i--) {
+            onTaskDeleted(removedIndices.get(i), removedTasks.get(i));
+            recordDeletion(removedIndices.get(i), removedTasks.get(i));
+        }
+        return removedTasks;
+    }
+
+    private PersistentTaskTree.Version snapshot() {
+        return tasks instanceof PersistentTaskTree ? ((PersistentTaskTree) tasks).snapshot() : null;
+    }
+
+    private void recordDeletion(int index, Task task) {
+        recordChange(new Revision.Change(Revision.Kind.DELETED, index, task, task.isDone(), task.getDoneDate()));
+    }
+
+    private void recordChange(Revision.Change change) {
+        if (undoLimit > 0 && !isReplayingHistory) {
+            pendingChanges.add(change);
+        }
+    }
+
+    /**
+     * Undoes or redoes the changes of a revision, in reverse order when undoing, and notifies the indexes and
+     * observers of each change as if it had just been made.
+     */
+    private void replay(Revision revision, boolean isUndo) {
+        PersistentTaskTree.Version version = isUndo ? revision.getBefore() : revision.getAfter();
+        if (version != null) {
+            ((PersistentTaskTree) tasks).restore(version);
+        }
+        List<Revision.Change> changes = revision.getChanges();
+        isReplayingHistory = true;
+        try {
+            for (int i = 0; i < changes.size(); i++) {
+                replay(changes.get(isUndo ? changes.size() - 1 - i : i), isUndo, version != null);
+            }
+        } finally {
+            isReplayingHistory = false;
+        }
+        committedVersion = version;
+    }
+
+    private void replay(Revision.Change change, boolean isUndo, boolean isRestored) {
+        int index = change.getIndex();
+        Task task = change.getTask();
+        boolean isAdded = change.getKind() == Revision.Kind.ADDED;
+        switch (change.getKind()) {
+        case ADDED:
+        case DELETED:
+            if (isAdded == isUndo) {
+                if (!isRestored) {
+                    tasks.remove(index);
+                }
+                onTaskDeleted(index, task);
+            } else {
+                if (!isRestored) {
+                    tasks.add(index, task);
+                }
+                // The trigram index keeps tasks in the order they were added, which a task put back could break.
+                trigramIndex = null;
+                onTaskAdded(index, task);
+            }
+            break;
+        default:
+            boolean wasDone = task.isDone();
+            change.restoreDoneState(isUndo);
+            if (!isRestored) {
+                tasks.set(index, task);
+            }
+            onTaskUpdated(index, task, wasDone);
+            break;
+        }
+    }
+
+    private void onTaskAdded(int index, Task task) {
+        IndexEvent event = new IndexEvent();
+        event.begin();
+        if (statistics != null) {
+            statistics.add(task);
+        }
+        if (trigramIndex != null) {
+            trigramIndex.add(task);
+        }
+        if (dateIndex != null) {
+            dateIndex.add(task);
+        }
+        event.finish(ALL_INDEXES, "add", tasks.size());
+        modificationCount++;
+        for (TaskListObserver observer : observers) {
+            observer.onTaskAdded(index, task);
+        }
+    }
+
+    private void onTaskDeleted(int index, Task task) {
+        IndexEvent event = new IndexEvent();
+        event.begin();
+        if (statistics != null) {
+            statistics.remove(task);
         }
-        return taskCount;
+        if (trigramIndex != null) {
+            trigramIndex.remove(task);
+        }
+        if (dateIndex != null) {
+            dateIndex.remove(task);
+        }
+        event.finish(ALL_INDEXES, "remove", tasks.size());
+        modificationCount++;
+        for (TaskListObserver observer : observers) {
+            observer.onTaskDeleted(index, task);
+        }
+    }
+
+    private void onTaskUpdated(int index, Task task, boolean wasDone) {
+        if (statistics != null) {
+            statistics.update(task, wasDone);
+        }
+        if (dateIndex != null && task.isDone() != wasDone) {
+            // The date index only holds tasks not done yet.
+            if (task.isDone()) {
+                dateIndex.remove(task);
+            } else {
+                dateIndex.add(task);
+            }
+        }
+        modificationCount++;
+        for (TaskListObserver observer : observers) {
+            observer.onTaskUpdated(index, task);
+        }
+    }
+
+    /**
+     * Retrieves the index of dates, building it on first use. It is kept up to date afterwards.
+     * Lists without stable task objects get a fresh index for every query instead.
+     */
+    private DateIndex getDateIndex() {
+        if (!hasStableTasks()) {
+            return buildDateIndex();
+        }
+        if (dateIndex == null) {
+            dateIndex = buildDateIndex();
+        }
+        return dateIndex;
+    }
+
+    private DateIndex buildDateIndex() {
+        IndexEvent event = new IndexEvent();
+        event.begin();
+        DateIndex index = new DateIndex(tasks);
+        event.finish(DateIndex.class.getSimpleName(), "build", tasks.size());
+        return index;
+    }
+
+    /**
+     * Returns whether reading the same task twice gives the same object, which the indexes rely on.
+     * A columnar store creates a new view on every read.
+     */
+    private boolean hasStableTasks() {
+        return !(tasks instanceof ColumnarTaskStore);
     }
 }
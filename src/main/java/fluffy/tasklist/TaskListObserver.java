@@ -0,0 +1,33 @@
+package fluffy.tasklist;
+
+import fluffy.task.Task;
+
+/**
+ * Represents an observer that is notified of every change made to a {@link TaskList}.
+ */
+public interface TaskListObserver {
+
+    /**
+     * Called after a task is added to the task list.
+     *
+     * @param index The index the task was added at.
+     * @param task The task that was added.
+     */
+    void onTaskAdded(int index, Task task);
+
+    /**
+     * Called after a task is deleted from the task list.
+     *
+     * @param index The index the task was deleted from.
+     * @param task The task that was deleted.
+     */
+    void onTaskDeleted(int index, Task task);
+
+    /**
+     * Called after a task in the task list is marked as done or not done.
+     *
+     * @param index The index of the task that was updated.
+     * @param task The task that was updated.
+     */
+    void onTaskUpdated(int index, Task task);
+}
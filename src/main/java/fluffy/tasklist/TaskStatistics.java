@@ -0,0 +1,149 @@
+package fluffy.tasklist;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import fluffy.task.Deadline;
+import fluffy.task.Task;
+
+/**
+ * Represents counters over a list of tasks that are updated as tasks are added, deleted, marked and unmarked,
+ * so that statistics never need a pass over the whole list.
+ */
+public class TaskStatistics {
+    private static final int TOTAL = 0;
+    private static final int DONE = 1;
+
+    private final Map<String, int[]> countsByType = new LinkedHashMap<>();
+    private final TreeMap<Long, Integer> unfinishedDeadlinesByDay = new TreeMap<>();
+
+    /**
+     * Counts a task that was added to the list.
+     *
+     * @param task The task that was added.
+     */
+    void add(Task task) {
+        int[] counts = countsByType.computeIfAbsent(task.getType(), type -> new int[2]);
+        counts[TOTAL]++;
+        if (task.isDone()) {
+            counts[DONE]++;
+        } else {
+            countUnfinishedDeadline(task, 1);
+        }
+    }
+
+    /**
+     * Stops counting a task that was deleted from the list.
+     *
+     * @param task The task that was deleted.
+     */
+    void remove(Task task) {
+        int[] counts = countsByType.get(task.getType());
+        counts[TOTAL]--;
+        if (task.isDone()) {
+            counts[DONE]--;
+        } else {
+            countUnfinishedDeadline(task, -1);
+        }
+        if (counts[TOTAL] == 0) {
+            countsByType.remove(task.getType());
+        }
+    }
+
+    /**
+     * Updates the counts of a task that was marked as done or not done.
+     *
+     * @param task The task that was updated.
+     * @param wasDone Whether the task was done before the update.
+     */
+    void update(Task task, boolean wasDone) {
+        if (wasDone == task.isDone()) {
+            return;
+        }
+        int[] counts = countsByType.get(task.getType());
+        counts[DONE] += task.isDone() ? 1 : -1;
+        countUnfinishedDeadline(task, task.isDone() ? -1 : 1);
+    }
+
+    /**
+     * Retrieves the number of tasks of each type.
+     *
+     * @return The number of tasks of each type.
+     */
+    public HashMap<String, Integer> getCountsByType() {
+        HashMap<String, Integer> taskCount = new HashMap<>();
+        for (Map.Entry<String, int[]> entry : countsByType.entrySet()) {
+            taskCount.put(entry.getKey(), entry.getValue()[TOTAL]);
+        }
+        return taskCount;
+    }
+
+    /**
+     * Retrieves the fraction of tasks of each type that are done.
+     *
+     * @return The completion rate of each type, between 0 and 1.
+     */
+    public Map<String, Double> getCompletionRatesByType() {
+        Map<String, Double> completionRates = new LinkedHashMap<>();
+        for (Map.Entry<String, int[]> entry : countsByType.entrySet()) {
+            int[] counts = entry.getValue();
+            completionRates.put(entry.getKey(), (double) counts[DONE] / counts[TOTAL]);
+        }
+        return completionRates;
+    }
+
+    /**
+     * Retrieves the number of deadlines not done yet that were due before a date.
+     *
+     * @param today The date to compare due dates against.
+     * @return The number of overdue deadlines.
+     */
+    public int getOverdueCount(LocalDate today) {
+        int overdueCount = 0;
+        for (int count : unfinishedDeadlinesByDay.headMap(today.toEpochDay(), false).values()) {
+            overdueCount += count;
+        }
+        return overdueCount;
+    }
+
+    /**
+     * Retrieves the number of deadlines not done yet that are due in each of the coming weeks.
+     * Weeks start on Monday, beginning with the week containing today.
+     *
+     * @param today The date in the first week.
+     * @param weekCount The number of weeks.
+     * @return The Monday starting each week, mapped to the number of deadlines due that week.
+     */
+    public Map<LocalDate, Integer> getDeadlinesPerWeek(LocalDate today, int weekCount) {
+        Map<LocalDate, Integer> deadlinesPerWeek = new LinkedHashMap<>();
+        LocalDate weekStart = today.with(DayOfWeek.MONDAY);
+        for (int i = 0; i < weekCount; i++) {
+            LocalDate nextWeekStart = weekStart.plusWeeks(1);
+            int count = 0;
+            for (int dayCount : unfinishedDeadlinesByDay
+                    .subMap(weekStart.toEpochDay(), nextWeekStart.toEpochDay()).values()) {
+                count += dayCount;
+            }
+            deadlinesPerWeek.put(weekStart, count);
+            weekStart = nextWeekStart;
+        }
+        return deadlinesPerWeek;
+    }
+
+    private void countUnfinishedDeadline(Task task, int delta) {
+        if (!(task instanceof Deadline)) {
+            return;
+        }
+        long by = ((Deadline) task).getBy().toEpochDay();
+        int count = unfinishedDeadlinesByDay.getOrDefault(by, 0) + delta;
+        if (count == 0) {
+            unfinishedDeadlinesByDay.remove(by);
+        } else {
+            unfinishedDeadlinesByDay.put(by, count);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package fluffy.tasklist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import fluffy.task.Task;
+
+/**
+ * Represents an inverted index from every three-character substring of a description to the tasks containing it.
+ * It narrows down the tasks that can contain a keyword, which are then checked with {@link String#contains}.
+ */
+class TrigramIndex {
+    static final int TRIGRAM_LENGTH = 3;
+
+    private final Map<Long, Set<Task>> postings = new HashMap<>();
+    private final Map<Task, Long> sequenceNumbers = new IdentityHashMap<>();
+    private long nextSequenceNumber;
+
+    /**
+     * Constructor for TrigramIndex.
+     *
+     * @param tasks The tasks to be indexed, in the order they appear in the task list.
+     */
+    TrigramIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds a task to the index. Tasks must be added in the order they appear in the task list.
+     *
+     * @param task The task to be added.
+     */
+    void add(Task task) {
+        sequenceNumbers.put(task, nextSequenceNumber++);
+        String description = task.getDescription();
+        for (int i = 0; i + TRIGRAM_LENGTH <= description.length(); i++) {
+            postings.computeIfAbsent(trigramAt(description, i), key -> newTaskSet()).add(task);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to be removed.
+     */
+    void remove(Task task) {
+        sequenceNumbers.remove(task);
+        String description = task.getDescription();
+        for (int i = 0; i + TRIGRAM_LENGTH <= description.length(); i++) {
+            Long trigram = trigramAt(description, i);
+            Set<Task> posting = postings.get(trigram);
+            if (posting != null) {
+                posting.remove(task);
+                if (posting.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the tasks whose description contains a keyword, in the order they appear in the task list.
+     *
+     * @param keyword The keyword, at least {@link #TRIGRAM_LENGTH} characters long.
+     * @return The tasks whose description contains the keyword.
+     */
+    List<Task> find(String keyword) {
+        assert keyword.length() >= TRIGRAM_LENGTH : "keyword should be long enough to have a trigram";
+        Set<Task> candidates = null;
+        for (int i = 0; i + TRIGRAM_LENGTH <= keyword.length(); i++) {
+            Set<Task> posting = postings.get(trigramAt(keyword, i));
+            if (posting == null) {
+                return new ArrayList<>();
+            }
+            if (candidates == null || posting.size() < candidates.size()) {
+                candidates = posting;
+            }
+        }
+        List<Task> foundTasks = new ArrayList<>();
+        for (Task task : candidates) {
+            if (task.getDescription().contains(keyword)) {
+                foundTasks.add(task);
+            }
+        }
+        foundTasks.sort((first, second) -> Long.compare(sequenceNumbers.get(first), sequenceNumbers.get(second)));
+        return foundTasks;
+    }
+
+    private static Long trigramAt(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+    private static Set<Task> newTaskSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
@@ -0,0 +1,44 @@
+package fluffy.ui;
+
+import javafx.scene.Node;
+
+/**
+ * Represents a message in the chat, either text from the user or Fluffy, or a node such as a chart.
+ */
+class ChatMessage {
+    private final int index;
+    private final String text;
+    private final boolean isFromUser;
+    private final Node node;
+
+    /**
+     * Constructor for ChatMessage.
+     *
+     * @param index The position of the message in the transcript, or -1 if it is not in the transcript.
+     * @param text The text of the message.
+     * @param isFromUser Whether the message is from the user rather than Fluffy.
+     * @param node The node to show instead of text, or null for a text message.
+     */
+    ChatMessage(int index, String text, boolean isFromUser, Node node) {
+        this.index = index;
+        this.text = text;
+        this.isFromUser = isFromUser;
+        this.node = node;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    String getText() {
+        return text;
+    }
+
+    boolean isFromUser() {
+        return isFromUser;
+    }
+
+    Node getNode() {
+        return node;
+    }
+}
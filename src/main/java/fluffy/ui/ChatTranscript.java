@@ -0,0 +1,120 @@
+package fluffy.ui;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import fluffy.FluffyException;
+
+/**
+ * Represents a file holding every chat message of a session, so that older messages can be dropped from the
+ * screen and read back when needed. The offset of every message is kept in memory to read any range directly.
+ */
+class ChatTranscript implements AutoCloseable {
+    private static final byte USER_MESSAGE = 'U';
+    private static final byte FLUFFY_MESSAGE = 'F';
+    private static final byte NODE_MESSAGE = 'N';
+
+    private final Path path;
+    private final OutputStream output;
+    private long[] offsets = new long[64];
+    private int size;
+    private long length;
+
+    /**
+     * Constructor for ChatTranscript. Any existing file at the path is replaced.
+     *
+     * @param path The path of the transcript file.
+     * @throws FluffyException If the file cannot be created.
+     */
+    ChatTranscript(Path path) throws FluffyException {
+        this.path = path;
+        try {
+            output = new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+        } catch (IOException e) {
+            throw new FluffyException("Error creating chat transcript");
+        }
+    }
+
+    /**
+     * Appends a message to the transcript. Nodes cannot be written, so a text rendering of them is kept instead.
+     *
+     * @param text The text of the message, or the text rendering of a node.
+     * @param isFromUser Whether the message is from the user rather than Fluffy.
+     * @param isNode Whether the message is a node rather than text.
+     * @return The position of the message in the transcript.
+     * @throws FluffyException If the message cannot be written.
+     */
+    int append(String text, boolean isFromUser, boolean isNode) throws FluffyException {
+        byte[] textBytes = text.getBytes(StandardCharsets.UTF_8);
+        try {
+            output.write(isNode ? NODE_MESSAGE : isFromUser ? USER_MESSAGE : FLUFFY_MESSAGE);
+            output.write(textBytes);
+        } catch (IOException e) {
+            throw new FluffyException("Error writing to chat transcript");
+        }
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        offsets[size] = length;
+        length += 1 + textBytes.length;
+        return size++;
+    }
+
+    /**
+     * Reads back the messages in a range of positions. Nodes in the range are read back as their text rendering,
+     * shown as messages from Fluffy.
+     *
+     * @param from The position of the first message, inclusive.
+     * @param to The position of the last message, exclusive.
+     * @return The messages in the range, in order.
+     * @throws FluffyException If the messages cannot be read.
+     */
+    List<ChatMessage> read(int from, int to) throws FluffyException {
+        List<ChatMessage> messages = new ArrayList<>();
+        if (from >= to) {
+            return messages;
+        }
+        long start = offsets[from];
+        long end = to == size ? length : offsets[to];
+        byte[] bytes = new byte[(int) (end - start)];
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            output.flush();
+            file.seek(start);
+            file.readFully(bytes);
+        } catch (IOException e) {
+            throw new FluffyException("Error reading from chat transcript");
+        }
+        for (int i = from; i < to; i++) {
+            int recordStart = (int) (offsets[i] - start);
+            int recordEnd = (int) ((i + 1 == size ? length : offsets[i + 1]) - start);
+            byte type = bytes[recordStart];
+            String text = new String(bytes, recordStart + 1, recordEnd - recordStart - 1, StandardCharsets.UTF_8);
+            messages.add(new ChatMessage(i, text, type == USER_MESSAGE, null));
+        }
+        return messages;
+    }
+
+    /**
+     * Retrieves the number of messages in the transcript.
+     *
+     * @return The number of messages in the transcript.
+     */
+    int size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
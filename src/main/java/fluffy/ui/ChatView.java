@@ -0,0 +1,196 @@
+package fluffy.ui;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Logger;
+
+import fluffy.FluffyException;
+import javafx.application.Platform;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.image.Image;
+
+/**
+ * Represents the chat between the user and Fluffy, holding at most {@link #MAX_MESSAGES} messages in memory.
+ * Only the visible messages have cells, and the cells are reused as the chat scrolls. Every message is also
+ * written to a transcript file, so older messages are dropped and read back when the user scrolls to the top.
+ */
+class ChatView extends ListView<ChatMessage> {
+    static final int MAX_MESSAGES = 200;
+    static final int PAGE_SIZE = 50;
+
+    private static final Logger LOGGER = Logger.getLogger(ChatView.class.getName());
+
+    private final Image userImage;
+    private final Image fluffyImage;
+    private Path transcriptPath;
+    private ChatTranscript transcript;
+    private boolean isShowingLatest = true;
+    private ScrollBar verticalScrollBar;
+
+    /**
+     * Constructor for ChatView.
+     *
+     * @param userImage The image shown beside messages from the user.
+     * @param fluffyImage The image shown beside messages from Fluffy.
+     */
+    ChatView(Image userImage, Image fluffyImage) {
+        this.userImage = userImage;
+        this.fluffyImage = fluffyImage;
+        try {
+            transcriptPath = Files.createTempFile("fluffy", ".transcript");
+            transcriptPath.toFile().deleteOnExit();
+            transcript = new ChatTranscript(transcriptPath);
+        } catch (IOException | FluffyException e) {
+            LOGGER.warning("Older chat messages will not be kept: " + e.getMessage());
+        }
+        setCellFactory(listView -> new ChatCell());
+    }
+
+    /**
+     * Adds a text message to the end of the chat.
+     *
+     * @param text The text of the message.
+     * @param isFromUser Whether the message is from the user rather than Fluffy.
+     */
+    void addMessage(String text, boolean isFromUser) {
+        addMessage(text, isFromUser, null);
+    }
+
+    /**
+     * Adds a node, such as a chart, to the end of the chat. Nodes are not kept once they are dropped, so their
+     * text rendering is read back instead.
+     *
+     * @param node The node to be added.
+     * @param text The text rendering of the node, kept in the transcript.
+     */
+    void addNode(Node node, String text) {
+        addMessage(text, false, node);
+    }
+
+    /**
+     * Closes the transcript and deletes its file. Messages added afterwards are only kept in memory.
+     */
+    void close() {
+        if (transcript == null) {
+            return;
+        }
+        try {
+            transcript.close();
+            Files.deleteIfExists(transcriptPath);
+        } catch (IOException e) {
+            LOGGER.warning("Chat transcript could not be deleted: " + e.getMessage());
+        }
+        transcript = null;
+    }
+
+    /**
+     * Reads back the messages just before the first one shown, if there are any.
+     * The newest messages are dropped to stay within {@link #MAX_MESSAGES}, until a new message arrives.
+     */
+    void loadEarlierMessages() {
+        int firstIndex = getFirstShownIndex();
+        if (transcript == null || firstIndex <= 0) {
+            return;
+        }
+        List<ChatMessage> earlierMessages;
+        try {
+            earlierMessages = transcript.read(Math.max(0, firstIndex - PAGE_SIZE), firstIndex);
+        } catch (FluffyException e) {
+            LOGGER.warning(e.getMessage());
+            return;
+        }
+        getItems().addAll(0, earlierMessages);
+        if (getItems().size() > MAX_MESSAGES) {
+            getItems().remove(MAX_MESSAGES, getItems().size());
+            isShowingLatest = false;
+        }
+        scrollTo(earlierMessages.size());
+    }
+
+    /**
+     * Lays out the chat, and on the first layout starts watching for the user scrolling to the top.
+     * The scroll bar is only created along with the skin, so it cannot be found any earlier.
+     */
+    @Override
+    protected void layoutChildren() {
+        super.layoutChildren();
+        if (verticalScrollBar != null) {
+            return;
+        }
+        for (Node node : lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL) {
+                verticalScrollBar = (ScrollBar) node;
+                verticalScrollBar.valueProperty().addListener((observable, oldValue, newValue) -> {
+                    if (newValue.doubleValue() <= verticalScrollBar.getMin()
+                            && newValue.doubleValue() < oldValue.doubleValue()) {
+                        Platform.runLater(this::loadEarlierMessages);
+                    }
+                });
+            }
+        }
+    }
+
+    private void addMessage(String text, boolean isFromUser, Node node) {
+        int index = -1;
+        if (transcript != null) {
+            try {
+                index = transcript.append(text, isFromUser, node != null);
+            } catch (FluffyException e) {
+                LOGGER.warning(e.getMessage());
+            }
+        }
+        if (!isShowingLatest && index >= 0) {
+            showLatestMessages(index);
+        }
+        getItems().add(new ChatMessage(index, text, isFromUser, node));
+        if (getItems().size() > MAX_MESSAGES) {
+            getItems().remove(0, getItems().size() - MAX_MESSAGES);
+        }
+        scrollTo(getItems().size() - 1);
+    }
+
+    /**
+     * Replaces the messages shown with the newest ones in the transcript before a position.
+     */
+    private void showLatestMessages(int end) {
+        try {
+            getItems().setAll(transcript.read(Math.max(0, end - MAX_MESSAGES + 1), end));
+            isShowingLatest = true;
+        } catch (FluffyException e) {
+            LOGGER.warning(e.getMessage());
+        }
+    }
+
+    private int getFirstShownIndex() {
+        return getItems().isEmpty() ? -1 : getItems().get(0).getIndex();
+    }
+
+    /**
+     * Represents a row of the chat, reusing one dialog box for whichever message it shows.
+     */
+    private class ChatCell extends ListCell<ChatMessage> {
+        private final DialogBox dialogBox = new DialogBox();
+
+        @Override
+        protected void updateItem(ChatMessage message, boolean isEmpty) {
+            super.updateItem(message, isEmpty);
+            if (isEmpty || message == null) {
+                setGraphic(null);
+                return;
+            }
+            if (message.getNode() != null) {
+                setGraphic(message.getNode());
+            } else {
+                dialogBox.show(message.getText(), message.isFromUser() ? userImage : fluffyImage,
+                        message.isFromUser());
+                setGraphic(dialogBox);
+            }
+        }
+    }
+}
@@ -1,56 +1,46 @@
 package fluffy.ui;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 
 /**
  * Encapsulates a person in a dialogue window.
+ * A dialog box can be reused for different messages, so that a chat only needs as many as fit on screen.
  */
 public class DialogBox extends HBox {
 
-    private Label text;
-    private ImageView displayPicture;
+    private final Label text = new Label();
+    private final ImageView displayPicture = new ImageView();
 
     /**
-     * Creates a DialogBox for displaying.
-     *
-     * @param l The name of the person speaking.
-     * @param iv Their user image.
+     * Creates an empty DialogBox for displaying.
      */
-    public DialogBox(Label l, ImageView iv) {
-        text = l;
-        displayPicture = iv;
-
+    public DialogBox() {
         text.setWrapText(true);
         displayPicture.setFitWidth(100.0);
         displayPicture.setFitHeight(100.0);
-
-        this.setAlignment(Pos.TOP_RIGHT);
-        this.getChildren().addAll(text, displayPicture);
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Shows a message in the dialog box.
+     * Messages from the user have the image on the right, and messages from Fluffy have it on the left.
+     *
+     * @param message The message to be shown.
+     * @param image The image of the person speaking.
+     * @param isFromUser Whether the message is from the user rather than Fluffy.
      */
-    private void flip() {
-        this.setAlignment(Pos.TOP_LEFT);
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        FXCollections.reverse(tmp);
-        this.getChildren().setAll(tmp);
-    }
-
-    public static DialogBox getUserDialog(Label l, ImageView iv) {
-        return new DialogBox(l, iv);
-    }
-
-    public static DialogBox getDukeDialog(Label l, ImageView iv) {
-        var db = new DialogBox(l, iv);
-        db.flip();
-        return db;
+    public void show(String message, Image image, boolean isFromUser) {
+        text.setText(message);
+        displayPicture.setImage(image);
+        if (isFromUser) {
+            this.setAlignment(Pos.TOP_RIGHT);
+            this.getChildren().setAll(text, displayPicture);
+        } else {
+            this.setAlignment(Pos.TOP_LEFT);
+            this.getChildren().setAll(displayPicture, text);
+        }
     }
 }
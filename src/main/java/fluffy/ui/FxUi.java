@@ -0,0 +1,246 @@
+package fluffy.ui;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import fluffy.metrics.Metrics;
+import fluffy.metrics.RenderEvent;
+import fluffy.tasklist.TaskList;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.chart.PieChart;
+import javafx.scene.control.Button;
+import javafx.scene.control.TextField;
+import javafx.scene.image.Image;
+import javafx.scene.layout.AnchorPane;
+import javafx.stage.Stage;
+
+/**
+ * Represents the graphical user interface of Fluffy, a chat window built with JavaFX.
+ */
+public class FxUi extends Ui {
+
+    private final String lokiFilePath = "/images/Loki.png";
+    private final String thorFilePath = "/images/Thor.png";
+    private final String appName = "Fluffy";
+
+    private ChatView chatView;
+    private TextField userInput;
+    private Button sendButton;
+    private Scene scene;
+    private Image loki;
+    private Image thor;
+    private Consumer<String> commandHandler;
+    private TaskListView liveTaskListView;
+
+    /**
+     * Constructor for FxUi.
+     */
+    public FxUi() {
+        this.loki = getImageFromPath(lokiFilePath);
+        this.thor = getImageFromPath(thorFilePath);
+    }
+
+    /**
+     * Constructor for FxUi.
+     *
+     * @param commandHandler The command handler to handle the user input.
+     */
+    public FxUi(Consumer<String> commandHandler) {
+        this();
+        this.commandHandler = commandHandler;
+    }
+
+    public Image getImageFromPath(String path) {
+        InputStream resourceAsStream;
+        resourceAsStream = this.getClass().getResourceAsStream(path);
+        assert resourceAsStream != null;
+        return new Image(resourceAsStream);
+    }
+
+    /**
+     * Starts the user interface in a window.
+     *
+     * @param stage The window to show the user interface in.
+     */
+    public void start(Stage stage) {
+        setupComponents();
+        formatWindow(stage);
+        addFunctionality();
+        showWelcome();
+        stage.show();
+    }
+
+    private void setupComponents() {
+        chatView = new ChatView(loki, thor);
+
+        userInput = new TextField();
+        sendButton = new Button("Send");
+
+        AnchorPane mainLayout = new AnchorPane();
+        mainLayout.getChildren().addAll(chatView, userInput, sendButton);
+
+        scene = new Scene(mainLayout);
+    }
+
+    private void formatWindow(Stage stage) {
+        stage.setTitle(appName);
+        stage.setResizable(true);
+        stage.setMinHeight(600.0);
+        stage.setMinWidth(400.0);
+
+        AnchorPane mainLayout = (AnchorPane) scene.getRoot();
+        mainLayout.prefWidthProperty().bind(scene.widthProperty());
+        mainLayout.prefHeightProperty().bind(scene.heightProperty());
+
+        chatView.prefWidthProperty().bind(mainLayout.widthProperty());
+        chatView.prefHeightProperty().bind(mainLayout.heightProperty().subtract(35));
+
+        userInput.prefWidthProperty().bind(mainLayout.widthProperty().subtract(55));
+        sendButton.setPrefWidth(55.0);
+
+        AnchorPane.setTopAnchor(chatView, 1.0);
+        AnchorPane.setBottomAnchor(sendButton, 1.0);
+        AnchorPane.setRightAnchor(sendButton, 1.0);
+        AnchorPane.setLeftAnchor(userInput , 1.0);
+        AnchorPane.setBottomAnchor(userInput, 1.0);
+
+        stage.setScene(scene);
+    }
+
+    private void addFunctionality() {
+        //Step 3. Add functionality to handle user input.
+        sendButton.setOnMouseClicked((event) -> handleUserInput());
+
+        userInput.setOnAction((event) -> handleUserInput());
+    }
+
+    /**
+     * Closes the chat transcript once the window is closed, so that its file does not outlive the program.
+     */
+    public void stop() {
+        runOnFxThread(() -> {
+            if (chatView != null) {
+                chatView.close();
+            }
+        });
+    }
+
+    /**
+     * Exits the program once the responses already shown have been drawn. JavaFX is shut down rather than the
+     * whole process, so that {@link javafx.application.Application#stop()} still runs and can close everything.
+     */
+    @Override
+    public void exit() {
+        Platform.runLater(Platform::exit);
+    }
+
+    /**
+     * Handles the user input and displays the response.
+     */
+    public void handleUserInput() {
+        String userInputString = userInput.getText();
+
+        userSpeak(userInputString);
+        commandHandler.accept(userInputString);
+
+        userInput.clear();
+    }
+
+    /**
+     * Displays the response from User.
+     * @param message The response from User.
+     */
+    public void userSpeak(String message) {
+        runOnFxThread(() -> chatView.addMessage(message, true));
+    }
+
+    /**
+     * Displays the response from Fluffy. It can be called from any thread.
+     * @param message The response from Fluffy.
+     */
+    @Override
+    public void fluffySpeak(String message) {
+        runOnFxThread(() -> chatView.addMessage(message, false));
+    }
+
+    /**
+     * Runs an update to the user interface on the JavaFX application thread, which owns every node on screen.
+     * Updates from other threads are queued, so they still run in the order they were made.
+     * Updates made while a command is handled are timed and recorded under the name of the command, and are
+     * reported to Java Flight Recorder as a {@link RenderEvent}.
+     *
+     * @param update The update to be run.
+     */
+    static void runOnFxThread(Runnable update) {
+        String commandName = Metrics.getCurrentCommand();
+        int taskCount = Metrics.getCurrentTaskCount();
+        Runnable timedUpdate = commandName == null ? update : () -> {
+            RenderEvent event = new RenderEvent();
+            event.begin();
+            long start = Metrics.start();
+            update.run();
+            Metrics.record(commandName, Metrics.Stage.RENDER, start);
+            event.finish(commandName, taskCount);
+        };
+        if (Platform.isFxApplicationThread()) {
+            timedUpdate.run();
+        } else {
+            Platform.runLater(timedUpdate);
+        }
+    }
+
+    /**
+     * Displays the list of tasks in a view that stays up to date as the tasks change.
+     * @param tasks The list of tasks.
+     */
+    @Override
+    public void showTaskList(TaskList tasks) {
+        fluffySpeak("Here are the tasks in your list:");
+        showTaskListView(TaskListView.ofAllTasks(tasks));
+    }
+
+    /**
+     * Displays the list of found tasks in a view that stays up to date as the found tasks change.
+     * @param tasks The list of tasks that was searched.
+     * @param foundTasks The list of found tasks.
+     */
+    @Override
+    public void showFoundTasks(TaskList tasks, TaskList foundTasks) {
+        fluffySpeak("Here are the matching tasks in your list:");
+        showTaskListView(TaskListView.ofFoundTasks(tasks, foundTasks));
+    }
+
+    /**
+     * Shows a view of tasks. Only the latest view is kept up to date, so older views stop observing their tasks.
+     */
+    private void showTaskListView(TaskListView taskListView) {
+        if (liveTaskListView != null) {
+            liveTaskListView.detach();
+        }
+        liveTaskListView = taskListView;
+        taskListView.attach();
+        String text = taskListView.toText();
+        runOnFxThread(() -> chatView.addNode(taskListView, text));
+    }
+
+    /**
+     * Shows a piechart of the tasks.
+     */
+    @Override
+    public void showPieChart(HashMap<String, Integer> data) {
+        StringBuilder sb = new StringBuilder("Here is a pie chart of your tasks:\n");
+        fluffySpeak(sb.toString());
+        runOnFxThread(() -> {
+            PieChart pieChart = new PieChart();
+            StringBuilder text = new StringBuilder();
+            for (Map.Entry<String, Integer> entry : data.entrySet()) {
+                pieChart.getData().add(new PieChart.Data(entry.getKey(), entry.getValue()));
+                text.append(text.length() > 0 ? "\n" : "").append(entry.getKey()).append(": ").append(entry.getValue());
+            }
+            chatView.addNode(pieChart, text.toString());
+        });
+    }
+}
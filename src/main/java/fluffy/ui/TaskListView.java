@@ -0,0 +1,203 @@
+package fluffy.ui;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import fluffy.FluffyException;
+import fluffy.task.Task;
+import fluffy.tasklist.TaskList;
+import fluffy.tasklist.TaskListObserver;
+import javafx.collections.FXCollections;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+
+/**
+ * Represents a scrollable view of tasks that only creates rows for the tasks currently visible.
+ * While attached, it observes the task list the tasks came from, so that marking and deleting tasks
+ * updates the affected rows in place instead of showing the whole list again.
+ */
+class TaskListView extends ListView<Task> implements TaskListObserver {
+    private static final double ROW_HEIGHT = 24.0;
+    private static final int MAX_VISIBLE_ROWS = 15;
+
+    private final TaskList source;
+    private final boolean isShowingAllTasks;
+
+    private TaskListView(TaskList source, List<Task> shownTasks, boolean isShowingAllTasks) {
+        super(FXCollections.observableList(shownTasks));
+        this.source = source;
+        this.isShowingAllTasks = isShowingAllTasks;
+        setCellFactory(listView -> new TaskCell());
+        setFixedCellSize(ROW_HEIGHT);
+        setPrefHeight(Math.max(1, Math.min(shownTasks.size(), MAX_VISIBLE_ROWS)) * ROW_HEIGHT + 2);
+    }
+
+    /**
+     * Creates a view of every task in a task list, kept in the same order as the list. The rows read their tasks
+     * from the list as they are shown, so the list is never copied, and a lazily loaded task is only decoded once
+     * it is scrolled into view.
+     *
+     * @param tasks The list of tasks.
+     * @return The view of the tasks.
+     */
+    static TaskListView ofAllTasks(TaskList tasks) {
+        return new TaskListView(tasks, new LiveTaskRows(tasks), true);
+    }
+
+    /**
+     * Creates a view of tasks found in a task list. Found tasks that are later marked, unmarked or deleted
+     * are updated, but tasks added afterwards are not shown.
+     *
+     * @param tasks The list of tasks that was searched.
+     * @param foundTasks The tasks that were found.
+     * @return The view of the found tasks.
+     */
+    static TaskListView ofFoundTasks(TaskList tasks, TaskList foundTasks) {
+        return new TaskListView(tasks, new ArrayList<>(foundTasks.getTasks()), false);
+    }
+
+    /**
+     * Renders the rows as text, one numbered task per line, the way the text user interface lists tasks.
+     *
+     * @return The text of the rows.
+     */
+    String toText() {
+        StringBuilder sb = new StringBuilder();
+        List<Task> shownTasks = getItems();
+        for (int i = 0; i < shownTasks.size(); i++) {
+            if (i > 0) {
+                sb.append("\n");
+            }
+            sb.append(i + 1).append(". ").append(shownTasks.get(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Starts updating the view as its task list changes.
+     */
+    void attach() {
+        synchronized (source) {
+            source.addObserver(this);
+        }
+    }
+
+    /**
+     * Stops updating the view, leaving the rows as they are.
+     */
+    void detach() {
+        synchronized (source) {
+            source.removeObserver(this);
+        }
+    }
+
+    @Override
+    public void onTaskAdded(int index, Task task) {
+        if (isShowingAllTasks) {
+            FxUi.runOnFxThread(() -> getItems().add(index, task));
+        }
+    }
+
+    @Override
+    public void onTaskDeleted(int index, Task task) {
+        if (isShowingAllTasks) {
+            FxUi.runOnFxThread(() -> getItems().remove(index));
+        } else {
+            FxUi.runOnFxThread(() -> {
+                int shownIndex = indexOfShown(task);
+                if (shownIndex >= 0) {
+                    getItems().remove(shownIndex);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void onTaskUpdated(int index, Task task) {
+        if (isShowingAllTasks) {
+            FxUi.runOnFxThread(() -> getItems().set(index, task));
+        } else {
+            FxUi.runOnFxThread(() -> {
+                int shownIndex = indexOfShown(task);
+                if (shownIndex >= 0) {
+                    getItems().set(shownIndex, task);
+                }
+            });
+        }
+    }
+
+    /**
+     * Finds a found task by identity, since different tasks can have equal descriptions.
+     */
+    private int indexOfShown(Task task) {
+        List<Task> shownTasks = getItems();
+        for (int i = 0; i < shownTasks.size(); i++) {
+            if (shownTasks.get(i) == task) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Represents the rows of a view of every task, which reads each task from the task list when its row is shown.
+     * Only the number of rows is kept, and changes to it are made on the JavaFX thread as the list reports them,
+     * so that the view is told which rows to update.
+     */
+    private static class LiveTaskRows extends AbstractList<Task> {
+        private final TaskList source;
+        private int size;
+
+        LiveTaskRows(TaskList source) {
+            this.source = source;
+            this.size = source.getSize();
+        }
+
+        @Override
+        public Task get(int index) {
+            synchronized (source) {
+                try {
+                    return source.getTask(index);
+                } catch (FluffyException e) {
+                    // The task was deleted, and its row is about to be removed too.
+                    return null;
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void add(int index, Task task) {
+            size++;
+            modCount++;
+        }
+
+        @Override
+        public Task remove(int index) {
+            size--;
+            modCount++;
+            return null;
+        }
+
+        @Override
+        public Task set(int index, Task task) {
+            return task;
+        }
+    }
+
+    /**
+     * Represents a row showing a task with its number, reused for different tasks as the view scrolls.
+     */
+    private static class TaskCell extends ListCell<Task> {
+        @Override
+        protected void updateItem(Task task, boolean isEmpty) {
+            super.updateItem(task, isEmpty);
+            setText(isEmpty || task == null ? null : (getIndex() + 1) + ". " + task);
+        }
+    }
+}
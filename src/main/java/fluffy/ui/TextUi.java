@@ -0,0 +1,70 @@
+package fluffy.ui;
+
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import fluffy.task.Task;
+import fluffy.tasklist.TaskList;
+
+/**
+ * Represents a text user interface that writes every response to a stream, one line per line of the response.
+ * Output is buffered by the writer and only flushed on {@link #exit()}, so that scripts run at full speed.
+ */
+public class TextUi extends Ui {
+    private final PrintWriter output;
+
+    /**
+     * Constructor for TextUi.
+     *
+     * @param output The writer to write responses to. It should be buffered and not flush automatically.
+     */
+    public TextUi(PrintWriter output) {
+        this.output = output;
+    }
+
+    @Override
+    public void fluffySpeak(String message) {
+        write(message);
+        write("\n");
+    }
+
+    @Override
+    public void showTaskList(TaskList tasks) {
+        fluffySpeak("Here are the tasks in your list:");
+        writeTasks(tasks);
+    }
+
+    @Override
+    public void showFoundTasks(TaskList tasks, TaskList foundTasks) {
+        fluffySpeak("Here are the matching tasks in your list:");
+        writeTasks(foundTasks);
+    }
+
+    @Override
+    public void showPieChart(HashMap<String, Integer> data) {
+        fluffySpeak("Here is a breakdown of your tasks:");
+        for (Map.Entry<String, Integer> entry : data.entrySet()) {
+            fluffySpeak(entry.getKey() + ": " + entry.getValue());
+        }
+    }
+
+    /**
+     * Flushes any buffered output. The caller decides whether the program ends.
+     */
+    @Override
+    public void exit() {
+        output.flush();
+    }
+
+    private void writeTasks(TaskList tasks) {
+        int number = 1;
+        for (Task task : tasks.getTasks()) {
+            write(number++ + ". " + task + "\n");
+        }
+    }
+
+    private void write(String text) {
+        output.write(text);
+    }
+}
@@ -1,176 +1,46 @@
 package fluffy.ui;
 
-import java.io.InputStream;
 import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Consumer;
+import java.util.List;
 
-import fluffy.FluffyException;
 import fluffy.task.Task;
 import fluffy.tasklist.TaskList;
-import javafx.application.Application;
-import javafx.scene.Scene;
-import javafx.scene.chart.PieChart;
-import javafx.scene.control.Button;
-import javafx.scene.control.Label;
-import javafx.scene.control.ScrollPane;
-import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.Region;
-import javafx.scene.layout.VBox;
-import javafx.stage.Stage;
 
 /**
- * Represents the user interface of Fluffy.
+ * Represents the user interface of Fluffy, which shows the responses to commands.
+ * It does not depend on JavaFX, so that Fluffy can also run without a window.
  */
-public class Ui extends Application {
-
-    private final String lokiFilePath = "/images/Loki.png";
-    private final String thorFilePath = "/images/Thor.png";
-    private final String appName = "Fluffy";
-
-    private ScrollPane scrollPane;
-    private VBox dialogContainer;
-    private TextField userInput;
-    private Button sendButton;
-    private Scene scene;
-    private Image loki;
-    private Image thor;
-    private Consumer<String> commandHandler;
-
-    /**
-     * Constructor for Ui.
-     */
-    public Ui() {
-        this.loki = getImageFromPath(lokiFilePath);
-        this.thor = getImageFromPath(thorFilePath);
-    }
+public abstract class Ui {
 
     /**
-     * Constructor for Ui.
-     *
-     * @param commandHandler The command handler to handle the user input.
-     */
-    public Ui(Consumer<String> commandHandler) {
-        this();
-        this.commandHandler = commandHandler;
-    }
-
-    public Image getImageFromPath(String path) {
-        InputStream resourceAsStream;
-        resourceAsStream = this.getClass().getResourceAsStream(path);
-        assert resourceAsStream != null;
-        return new Image(resourceAsStream);
-    }
-
-    /**
-     * Starts the user interface.
-     *
-     * @inheritDoc
+     * Displays the response from Fluffy.
+     * @param message The response from Fluffy.
      */
-    @Override
-    public void start(Stage stage) {
-        setupComponents();
-        formatWindow(stage);
-        addFunctionality();
-        showWelcome();
-        stage.show();
-    }
-
-    private void setupComponents() {
-        scrollPane = new ScrollPane();
-        dialogContainer = new VBox();
-        scrollPane.setContent(dialogContainer);
-
-        userInput = new TextField();
-        sendButton = new Button("Send");
-
-        AnchorPane mainLayout = new AnchorPane();
-        mainLayout.getChildren().addAll(scrollPane, userInput, sendButton);
-
-        scene = new Scene(mainLayout);
-    }
-
-    private void formatWindow(Stage stage) {
-        stage.setTitle(appName);
-        stage.setResizable(true);
-        stage.setMinHeight(600.0);
-        stage.setMinWidth(400.0);
-
-        AnchorPane mainLayout = (AnchorPane) scene.getRoot();
-        mainLayout.prefWidthProperty().bind(scene.widthProperty());
-        mainLayout.prefHeightProperty().bind(scene.heightProperty());
-
-        scrollPane.prefWidthProperty().bind(mainLayout.widthProperty());
-        scrollPane.prefHeightProperty().bind(mainLayout.heightProperty().subtract(35));
-        scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-        scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.ALWAYS);
-        scrollPane.setVvalue(1.0);
-        scrollPane.setFitToWidth(true);
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
-
-        dialogContainer.setPrefHeight(Region.USE_COMPUTED_SIZE);
-        userInput.prefWidthProperty().bind(mainLayout.widthProperty().subtract(55));
-        sendButton.setPrefWidth(55.0);
-
-        AnchorPane.setTopAnchor(scrollPane, 1.0);
-        AnchorPane.setBottomAnchor(sendButton, 1.0);
-        AnchorPane.setRightAnchor(sendButton, 1.0);
-        AnchorPane.setLeftAnchor(userInput , 1.0);
-        AnchorPane.setBottomAnchor(userInput, 1.0);
-
-        stage.setScene(scene);
-    }
-
-    private void addFunctionality() {
-        //Step 3. Add functionality to handle user input.
-        sendButton.setOnMouseClicked((event) -> handleUserInput());
-
-        userInput.setOnAction((event) -> handleUserInput());
-    }
+    public abstract void fluffySpeak(String message);
 
     /**
-     * Exits the program.
+     * Displays the list of tasks.
+     * @param tasks The list of tasks.
      */
-    public void exit() {
-        System.exit(0);
-    }
+    public abstract void showTaskList(TaskList tasks);
 
     /**
-     * Handles the user input and displays the response.
+     * Displays the list of found tasks.
+     * @param tasks The list of tasks that was searched.
+     * @param foundTasks The list of found tasks.
      */
-    public void handleUserInput() {
-        String userInputString = userInput.getText();
-
-        userSpeak(userInputString);
-        commandHandler.accept(userInputString);
-
-        userInput.clear();
-    }
+    public abstract void showFoundTasks(TaskList tasks, TaskList foundTasks);
 
     /**
-     * Displays the response from User.
-     * @param message The response from User.
+     * Shows a breakdown of the tasks by type.
+     * @param data The number of tasks of each type.
      */
-    public void userSpeak(String message) {
-        Label response = new Label(message);
-        dialogContainer.getChildren().addAll(
-            DialogBox.getUserDialog(response, new ImageView(loki))
-        );
-    }
+    public abstract void showPieChart(HashMap<String, Integer> data);
 
     /**
-     * Displays the response from Fluffy.
-     * @param message The response from Fluffy.
+     * Exits the program.
      */
-    public void fluffySpeak(String message) {
-        Label response = new Label(message);
-        dialogContainer.getChildren().addAll(
-            DialogBox.getDukeDialog(response, new ImageView(thor))
-        );
-    }
+    public abstract void exit();
 
     public void showWelcome() {
         fluffySpeak("Hello! I'm Fluffy, \nWhat can I do for you?");
@@ -192,44 +62,6 @@ public class Ui extends Application {
         fluffySpeak(message);
     }
 
-    /**
-     * Displays the list of tasks.
-     * @param tasks The list of tasks.
-     */
-    public void showTaskList(TaskList tasks) {
-        StringBuilder sb = new StringBuilder("Here are the tasks in your list:\n");
-        for (int i = 0; i < tasks.getSize(); i++) {
-            try {
-                sb.append((i + 1))
-                    .append(". ")
-                    .append(tasks.getTask(i))
-                    .append("\n");
-            } catch (FluffyException e) {
-                showError(e.getMessage());
-            }
-        }
-        fluffySpeak(sb.toString());
-    }
-
-    /**
-     * Displays the list of found tasks.
-     * @param tasks The list of found tasks.
-     */
-    public void showFoundTasks(TaskList tasks) {
-        StringBuilder sb = new StringBuilder("Here are the matching tasks in your list:\n");
-        for (int i = 0; i < tasks.getSize(); i++) {
-            try {
-                sb.append((i + 1))
-                    .append(". ")
-                    .append(tasks.getTask(i))
-                    .append("\n");
-            } catch (FluffyException e) {
-                showError(e.getMessage());
-            }
-        }
-        fluffySpeak(sb.toString());
-    }
-
     /**
      * Shows the task that was added to the task list.
      * @param task The task that was added to the task list.
@@ -249,17 +81,15 @@ public class Ui extends Application {
     }
 
     /**
-     * Shows a piechart of the tasks.
+     * Shows tasks from the archive. They are not numbered, since they are no longer in the task list.
+     * @param heading The message shown before the tasks.
+     * @param archivedTasks The archived tasks.
      */
-    public void showPieChart(HashMap<String, Integer> data) {
-        StringBuilder sb = new StringBuilder("Here is a pie chart of your tasks:\n");
-        PieChart pieChart = new PieChart();
-        for (Map.Entry<String, Integer> entry : data.entrySet()) {
-            pieChart.getData().add(new PieChart.Data(entry.getKey(), entry.getValue()));
+    public void showArchivedTasks(String heading, List<Task> archivedTasks) {
+        StringBuilder sb = new StringBuilder(heading);
+        for (Task task : archivedTasks) {
+            sb.append("\n").append(task);
         }
         fluffySpeak(sb.toString());
-        dialogContainer.getChildren().addAll(
-            pieChart
-        );
     }
 }
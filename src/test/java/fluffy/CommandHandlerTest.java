@@ -0,0 +1,62 @@
+package fluffy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import fluffy.storage.Storage;
+import fluffy.storage.TaskArchive;
+import fluffy.task.Todo;
+import fluffy.tasklist.TaskList;
+import fluffy.ui.TextUi;
+
+public class CommandHandlerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void handle_findWithArchivedMatches_archiveSearchedWithoutLock() throws FluffyException {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("read book"));
+        LockCheckingStorage storage = new LockCheckingStorage(tempDir.resolve("fluffy.txt").toString(), tasks);
+        storage.getArchive().append(List.of(new Todo("return book")));
+        storage.archiveCallCount = 0;
+        StringWriter output = new StringWriter();
+
+        new CommandHandler(tasks, new TextUi(new PrintWriter(output)), storage).handle("find book");
+
+        assertEquals(1, storage.archiveCallCount);
+        assertFalse(storage.isArchiveUsedUnderLock);
+        assertTrue(output.toString().contains("1. [T][ ] read book"));
+        assertTrue(output.toString().contains("And the matching tasks in your archive:\n[T][ ] return book"));
+    }
+
+    /**
+     * Records whether the archive is used while the lock on the list of tasks is held.
+     */
+    private static class LockCheckingStorage extends Storage {
+        private final TaskList tasks;
+        private int archiveCallCount;
+        private boolean isArchiveUsedUnderLock;
+
+        LockCheckingStorage(String filePath, TaskList tasks) {
+            super(filePath);
+            this.tasks = tasks;
+        }
+
+        @Override
+        public TaskArchive getArchive() {
+            archiveCallCount++;
+            isArchiveUsedUnderLock |= Thread.holdsLock(tasks);
+            return super.getArchive();
+        }
+    }
+}
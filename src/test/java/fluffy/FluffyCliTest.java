@@ -0,0 +1,83 @@
+package fluffy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import fluffy.storage.PendingSave;
+import fluffy.storage.Storage;
+import fluffy.tasklist.TaskList;
+import fluffy.ui.TextUi;
+
+public class FluffyCliTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void run_manyCommands_savedOnceAtEnd() throws IOException {
+        CountingStorage storage = new CountingStorage(tempDir.resolve("fluffy.txt").toString());
+        StringWriter output = new StringWriter();
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            script.append("todo task ").append(i).append("\n");
+        }
+        script.append("delete 1-998\nmark 2\nbye\ntodo never run\n");
+
+        new FluffyCli(storage, new TextUi(new PrintWriter(output))).run(
+                new BufferedReader(new StringReader(script.toString())));
+
+        assertEquals(1, storage.saveCount);
+        List<String> lines = Files.readAllLines(tempDir.resolve("fluffy.txt"));
+        assertEquals(List.of("T | T | 0 | task 998", "T | T | 1@" + LocalDate.now() + " | task 999"), lines);
+        assertEquals(true, output.toString().endsWith("Bye. Hope to see you again soon!\n"));
+    }
+
+    @Test
+    public void run_onlyQueries_notSaved() throws IOException {
+        CountingStorage storage = new CountingStorage(tempDir.resolve("fluffy.txt").toString());
+        StringWriter output = new StringWriter();
+
+        new FluffyCli(storage, new TextUi(new PrintWriter(output))).run(
+                new BufferedReader(new StringReader("list\nfind book\nunknown\n")));
+
+        assertEquals(0, storage.saveCount);
+        assertEquals(true, output.toString().contains("OOPS!!! I'm sorry, but I don't know what that means :-("));
+    }
+
+    @Test
+    public void run_severalTaskNumbers_realNumbersShownAndHugeRangeRejected() throws IOException {
+        CountingStorage storage = new CountingStorage(tempDir.resolve("fluffy.txt").toString());
+        StringWriter output = new StringWriter();
+
+        new FluffyCli(storage, new TextUi(new PrintWriter(output))).run(new BufferedReader(new StringReader(
+                "todo read book\ntodo return book\ntodo buy book\nmark 2,3\ndelete 1-2147483647\n")));
+
+        assertEquals(true, output.toString().contains("2. [T][x] return book\n3. [T][x] buy book\n"));
+        assertEquals(true, output.toString().contains("OOPS!!! The task number is out of bounds."));
+    }
+
+    private static class CountingStorage extends Storage {
+        private int saveCount;
+
+        CountingStorage(String filePath) {
+            super(filePath);
+        }
+
+        @Override
+        public PendingSave prepareSave(TaskList tasks, String commandType) throws FluffyException {
+            saveCount++;
+            return super.prepareSave(tasks, commandType);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package fluffy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import fluffy.storage.Storage;
+
+public class FluffyServerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void serve_twoClients_shareTasksAndSaveOnClose() throws IOException {
+        Path filePath = tempDir.resolve("fluffy.txt");
+        try (FluffyServer server = new FluffyServer(new Storage(filePath.toString()), 0)) {
+            Thread serving = new Thread(server::serve);
+            serving.setDaemon(true);
+            serving.start();
+            try (Socket first = connect(server); Socket second = connect(server)) {
+                assertEquals("Got it. I've added this task:\n[T][ ] read book\nNow you have 1 tasks in the list.\n",
+                        send(first, "todo read book"));
+                assertEquals("Here are the tasks in your list:\n1. [T][ ] read book\n", send(second, "list"));
+                assertEquals("OOPS!!! I'm sorry, but I don't know what that means :-(\n", send(second, "unknown"));
+                assertEquals("Bye. Hope to see you again soon!\n", send(first, "bye"));
+                assertEquals(null, new BufferedReader(new InputStreamReader(first.getInputStream())).readLine());
+            }
+        }
+        assertEquals(List.of("T | T | 0 | read book"), Files.readAllLines(filePath));
+    }
+
+    private static Socket connect(FluffyServer server) throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        readResponse(socket);
+        return socket;
+    }
+
+    private static String send(Socket socket, String command) throws IOException {
+        PrintWriter output = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        output.println(command);
+        return readResponse(socket);
+    }
+
+    /**
+     * Reads one response a byte at a time, so that nothing after it is taken from the socket.
+     */
+    private static String readResponse(Socket socket) throws IOException {
+        StringBuilder response = new StringBuilder();
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = socket.getInputStream().read()) != -1) {
+            if (b != '\n') {
+                line.append((char) b);
+            } else if (line.toString().equals(FluffyServer.END_OF_RESPONSE)) {
+                return response.toString();
+            } else {
+                response.append(line).append('\n');
+                line.setLength(0);
+            }
+        }
+        throw new IOException("The server closed the connection");
+    }
+}
@@ -0,0 +1,37 @@
+package fluffy.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void getPercentile_noLatencies_zeroReturned() {
+        assertEquals(0, new LatencyHistogram().getPercentile(0.99));
+    }
+
+    @Test
+    public void getPercentile_uniformLatencies_withinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        long median = histogram.getPercentile(0.5);
+        assertTrue(median >= 500_000 && median <= 500_000 * 1.125, "median was " + median);
+        long p99 = histogram.getPercentile(0.99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 was " + p99);
+    }
+
+    @Test
+    public void getPercentile_smallLatencies_exact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(5);
+        assertEquals(3, histogram.getPercentile(0.5));
+        assertEquals(5, histogram.getPercentile(1));
+    }
+}
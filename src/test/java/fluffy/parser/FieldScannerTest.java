@@ -0,0 +1,49 @@
+package fluffy.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.Test;
+
+public class FieldScannerTest {
+
+    @Test
+    public void next_delimitedLine_fieldsReturnedInOrder() {
+        FieldScanner scanner = new FieldScanner("D | 1 | read book | 2024-06-01");
+        assertTrue(scanner.next(" | "));
+        assertTrue(scanner.fieldEquals("D"));
+        assertTrue(scanner.next(" | "));
+        assertTrue(scanner.fieldEquals("1"));
+        assertTrue(scanner.next(" | "));
+        assertEquals("read book", scanner.field());
+        assertTrue(scanner.next(" | "));
+        assertEquals(LocalDate.of(2024, 6, 1), scanner.fieldAsDate());
+        assertFalse(scanner.next(" | "));
+    }
+
+    @Test
+    public void next_trailingDelimiter_emptyFieldReturned() {
+        FieldScanner scanner = new FieldScanner("todo ");
+        scanner.next(' ');
+        assertTrue(scanner.nextRest());
+        assertTrue(scanner.isFieldEmpty());
+        assertFalse(scanner.hasNext());
+    }
+
+    @Test
+    public void parseDate_sameDatesAsLocalDateParse() {
+        String[] dates = {"2024-02-29", "1999-12-31", "+10000-01-01"};
+        for (String date : dates) {
+            assertEquals(LocalDate.parse(date), FieldScanner.parseDate(date, 0, date.length()));
+        }
+        String[] invalidDates = {"2023-02-29", "2024-13-01", "2024-1-01", "2024/01/01", "20a4-01-01", ""};
+        for (String date : invalidDates) {
+            assertThrows(DateTimeParseException.class, () -> FieldScanner.parseDate(date, 0, date.length()));
+        }
+    }
+}
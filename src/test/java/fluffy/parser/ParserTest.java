@@ -11,9 +11,14 @@ import fluffy.command.ByeCommand;
 import fluffy.command.Command;
 import fluffy.command.DeadlineCommand;
 import fluffy.command.DeleteCommand;
+import fluffy.command.DueCommand;
 import fluffy.command.EventCommand;
 import fluffy.command.ListCommand;
 import fluffy.command.MarkCommand;
+import fluffy.command.MetricsCommand;
+import fluffy.command.OverdueCommand;
+import fluffy.command.OverlapCommand;
+import fluffy.command.PurgeCommand;
 import fluffy.command.TodoCommand;
 import fluffy.command.UnmarkCommand;
 
@@ -71,4 +76,38 @@ public class ParserTest {
         Command command = parse("bye");
         assertInstanceOf(ByeCommand.class, command);
     }
+
+    @Test
+    public void parse_metricsCommand_metricsCommandReturned() throws FluffyException {
+        Command command = parse("metrics");
+        assertInstanceOf(MetricsCommand.class, command);
+    }
+
+    @Test
+    public void parse_dateQueryCommands_dateQueryCommandsReturned() throws FluffyException {
+        assertInstanceOf(DueCommand.class, parse("due 2024-05-03"));
+        assertInstanceOf(OverlapCommand.class, parse("overlap 2024-05-01 2024-05-07"));
+        assertInstanceOf(OverdueCommand.class, parse("overdue"));
+    }
+
+    @Test
+    public void parse_overlapWithOneDate_exceptionThrown() {
+        assertThrows(FluffyException.class, () -> parse("overlap 2024-05-01"));
+    }
+
+    @Test
+    public void parse_taskNumberRangesAndLists_commandsReturned() throws FluffyException {
+        assertInstanceOf(DeleteCommand.class, parse("delete 3-400"));
+        assertInstanceOf(MarkCommand.class, parse("mark 1,5,9"));
+        assertInstanceOf(UnmarkCommand.class, parse("unmark 1, 3-5"));
+        assertInstanceOf(PurgeCommand.class, parse("purge done"));
+    }
+
+    @Test
+    public void parse_invalidTaskNumbers_exceptionThrown() {
+        assertThrows(FluffyException.class, () -> parse("delete 400-3"));
+        assertThrows(FluffyException.class, () -> parse("mark 0"));
+        assertThrows(FluffyException.class, () -> parse("mark 1,a"));
+        assertThrows(FluffyException.class, () -> parse("purge"));
+    }
 }
@@ -0,0 +1,164 @@
+package fluffy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import fluffy.FluffyException;
+import fluffy.task.Task;
+import fluffy.task.Todo;
+import fluffy.tasklist.TaskList;
+
+public class JournalStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_afterSaves_journalReplayed() throws FluffyException {
+        String filePath = tempDir.resolve("fluffy.txt").toString();
+        JournalStorage storage = new JournalStorage(filePath);
+        TaskList tasks = new TaskList(storage.load());
+        storage.attach(tasks);
+        tasks.addTask(new Todo("read book"));
+        tasks.addTask(new Todo("return book"));
+        storage.save(tasks);
+        tasks.markTask(1);
+        tasks.deleteTask(0);
+        storage.save(tasks);
+
+        List<Task> loaded = new JournalStorage(filePath).load();
+        assertEquals(1, loaded.size());
+        assertEquals("return book", loaded.get(0).getDescription());
+        assertTrue(loaded.get(0).isDone());
+    }
+
+    @Test
+    public void load_undoneDeletion_taskPutBackInPlace() throws FluffyException {
+        String filePath = tempDir.resolve("fluffy.txt").toString();
+        JournalStorage storage = new JournalStorage(filePath);
+        TaskList tasks = new TaskList(storage.load());
+        storage.attach(tasks);
+        tasks.addTask(new Todo("read book"));
+        tasks.addTask(new Todo("return book"));
+        tasks.commitRevision();
+        tasks.deleteTask(0);
+        tasks.commitRevision();
+        tasks.undo();
+        storage.save(tasks);
+
+        List<Task> loaded = new JournalStorage(filePath).load();
+        assertEquals("[[T][ ] read book, [T][ ] return book]", loaded.toString());
+    }
+
+    @Test
+    public void save_journalPastThreshold_compactedIntoSnapshot() throws FluffyException {
+        Path snapshot = tempDir.resolve("fluffy.txt");
+        JournalStorage storage = new JournalStorage(snapshot.toString(), 1);
+        TaskList tasks = new TaskList(storage.load());
+        storage.attach(tasks);
+        tasks.addTask(new Todo("read book"));
+        storage.save(tasks);
+        storage.awaitCompaction();
+        tasks.addTask(new Todo("return book"));
+        storage.save(tasks);
+        storage.awaitCompaction();
+
+        assertFalse(Files.exists(tempDir.resolve("fluffy.txt.journal")));
+        assertEquals(2, new Storage(snapshot.toString()).load().size());
+        assertEquals(2, new JournalStorage(snapshot.toString()).load().size());
+    }
+
+    @Test
+    public void load_tornFinalRecord_recordSkipped() throws FluffyException, IOException {
+        String filePath = tempDir.resolve("fluffy.txt").toString();
+        JournalStorage storage = new JournalStorage(filePath);
+        TaskList tasks = new TaskList(storage.load());
+        storage.attach(tasks);
+        tasks.addTask(new Todo("read book"));
+        storage.save(tasks);
+        Files.writeString(Path.of(filePath + ".journal"), "A | T | T | 0 | ret", StandardOpenOption.APPEND);
+
+        List<Task> loaded = new JournalStorage(filePath).load();
+        assertEquals(1, loaded.size());
+        assertEquals("read book", loaded.get(0).getDescription());
+    }
+
+    @Test
+    public void save_afterHalfWrittenAppend_journalTruncatedBeforeRetry() throws FluffyException {
+        String filePath = tempDir.resolve("fluffy.txt").toString();
+        FailingOnceJournalStorage storage = new FailingOnceJournalStorage(filePath);
+        TaskList tasks = new TaskList(storage.load());
+        storage.attach(tasks);
+        for (int i = 0; i < 13; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        storage.save(tasks);
+        tasks.deleteTask(12);
+        storage.isNextAppendFailing = true;
+        assertThrows(FluffyException.class, () -> storage.save(tasks));
+        tasks.deleteTask(0);
+        storage.save(tasks);
+
+        List<Task> loaded = new JournalStorage(filePath).load();
+        assertEquals(11, loaded.size());
+        assertEquals("task 1", loaded.get(0).getDescription());
+        assertEquals("task 11", loaded.get(10).getDescription());
+    }
+
+    @Test
+    public void load_handWrittenRecords_eachRecordApplied() throws FluffyException, IOException {
+        String filePath = tempDir.resolve("fluffy.txt").toString();
+        Files.writeString(Path.of(filePath + ".journal"), "A | T | T | 0 | read book\n"
+                + "I | 0 | D | D | 0 | return book | 2024-04-25\n"
+                + "M | 0 | 2024-04-20\nM | 1\nU | 1\nA | T | T | 0 | buy book\nD | 2\n");
+
+        List<Task> loaded = new JournalStorage(filePath).load();
+        assertEquals(2, loaded.size());
+        assertEquals("return book", loaded.get(0).getDescription());
+        assertEquals(LocalDate.of(2024, 4, 20), loaded.get(0).getDoneDate());
+        assertFalse(loaded.get(1).isDone());
+    }
+
+    @Test
+    public void load_recordMissingFields_exceptionThrown() throws IOException {
+        String filePath = tempDir.resolve("fluffy.txt").toString();
+        Files.writeString(Path.of(filePath + ".journal"), "A | T | T | 0 | read book\nM\n");
+
+        assertThrows(FluffyException.class, () -> new JournalStorage(filePath).load());
+    }
+
+    /**
+     * Writes all but the last byte of an append and then fails, when told to.
+     */
+    private static class FailingOnceJournalStorage extends JournalStorage {
+        private boolean isNextAppendFailing;
+
+        FailingOnceJournalStorage(String filePath) {
+            super(filePath);
+        }
+
+        @Override
+        void appendToJournal(byte[] bytes) throws IOException {
+            if (!isNextAppendFailing) {
+                super.appendToJournal(bytes);
+                return;
+            }
+            isNextAppendFailing = false;
+            super.appendToJournal(Arrays.copyOf(bytes, bytes.length - 1));
+            throw new IOException("Disk full");
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package fluffy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import fluffy.FluffyException;
+import fluffy.task.Task;
+import fluffy.task.Todo;
+import fluffy.tasklist.TaskList;
+
+public class SegmentedStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_afterSaves_tasksInOrder() throws FluffyException {
+        String filePath = tempDir.resolve("fluffy.txt").toString();
+        SegmentedStorage storage = new SegmentedStorage(filePath, 4);
+        TaskList tasks = new TaskList(storage.load());
+        storage.attach(tasks);
+        for (int i = 0; i < 10; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        storage.save(tasks);
+        tasks.deleteTask(5);
+        tasks.markTask(0);
+        storage.save(tasks);
+
+        List<Task> loaded = new SegmentedStorage(filePath, 4).load();
+        assertEquals(9, loaded.size());
+        assertTrue(loaded.get(0).isDone());
+        assertEquals("task 4", loaded.get(4).getDescription());
+        assertEquals("task 6", loaded.get(5).getDescription());
+        assertEquals("task 9", loaded.get(8).getDescription());
+    }
+
+    @Test
+    public void save_oneTaskChanged_onlyItsSegmentRewritten() throws FluffyException, IOException {
+        String filePath = tempDir.resolve("fluffy.txt").toString();
+        SegmentedStorage storage = new SegmentedStorage(filePath, 4);
+        TaskList tasks = new TaskList(storage.load());
+        storage.attach(tasks);
+        for (int i = 0; i < 12; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        storage.save(tasks);
+        assertEquals(3, storage.getSegmentCount());
+        Set<String> filesBefore = listSegments(filePath);
+
+        tasks.markTask(5);
+        storage.save(tasks);
+        Set<String> filesAfter = listSegments(filePath);
+        assertEquals(3, filesAfter.size());
+        filesAfter.retainAll(filesBefore);
+        assertEquals(2, filesAfter.size());
+    }
+
+    @Test
+    public void load_existingFile_convertedOnSaveAndKept() throws FluffyException {
+        Path file = tempDir.resolve("fluffy.txt");
+        Storage plainStorage = new Storage(file.toString());
+        TaskList plainTasks = new TaskList(plainStorage.load());
+        plainTasks.addTask(new Todo("read book"));
+        plainStorage.save(plainTasks);
+
+        SegmentedStorage storage = new SegmentedStorage(file.toString());
+        TaskList tasks = new TaskList(storage.load());
+        storage.attach(tasks);
+        storage.save(tasks);
+
+        assertTrue(Files.exists(tempDir.resolve("fluffy.txt.segments/manifest")));
+        assertTrue(Files.exists(file));
+        assertFalse(Files.exists(tempDir.resolve("fluffy.txt.converted")));
+        List<Task> loaded = new SegmentedStorage(file.toString()).load();
+        assertEquals(1, loaded.size());
+        assertFalse(loaded.get(0).isDone());
+    }
+
+    @Test
+    public void load_segmentsNewerThanFile_plainStorageLoadsSegments() throws FluffyException, IOException {
+        Path file = tempDir.resolve("fluffy.txt");
+        saveSegmentedAfterFile(file);
+
+        Storage plainStorage = new Storage(file.toString());
+        TaskList tasks = new TaskList(plainStorage.load());
+        assertEquals(2, tasks.getSize());
+        tasks.markTask(1);
+        plainStorage.save(tasks);
+
+        List<Task> loaded = new Storage(file.toString()).load();
+        assertEquals(2, loaded.size());
+        assertTrue(loaded.get(1).isDone());
+    }
+
+    @Test
+    public void load_segmentsNewerThanSnapshot_journalStorageLoadsSegments() throws FluffyException, IOException {
+        Path file = tempDir.resolve("fluffy.txt");
+        saveSegmentedAfterFile(file);
+
+        JournalStorage journalStorage = new JournalStorage(file.toString());
+        TaskList tasks = new TaskList(journalStorage.load());
+        journalStorage.attach(tasks);
+        assertEquals(2, tasks.getSize());
+        tasks.deleteTask(0);
+        journalStorage.save(tasks);
+
+        List<Task> loaded = new JournalStorage(file.toString()).load();
+        assertEquals(1, loaded.size());
+        assertEquals("[T][ ] write report", loaded.get(0).toString());
+    }
+
+    /**
+     * Saves one task in the default storage, then converts it to segments and adds a second task there.
+     */
+    private void saveSegmentedAfterFile(Path file) throws FluffyException, IOException {
+        Storage plainStorage = new Storage(file.toString());
+        TaskList plainTasks = new TaskList(plainStorage.load());
+        plainTasks.addTask(new Todo("read book"));
+        plainStorage.save(plainTasks);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+
+        SegmentedStorage storage = new SegmentedStorage(file.toString());
+        TaskList tasks = new TaskList(storage.load());
+        storage.attach(tasks);
+        tasks.addTask(new Todo("write report"));
+        storage.save(tasks);
+    }
+
+    @Test
+    public void load_fileNewerThanManifest_fileLoaded() throws FluffyException, IOException {
+        Path file = tempDir.resolve("fluffy.txt");
+        SegmentedStorage storage = new SegmentedStorage(file.toString());
+        TaskList tasks = new TaskList(storage.load());
+        storage.attach(tasks);
+        tasks.addTask(new Todo("read book"));
+        storage.save(tasks);
+        TaskList newerTasks = new TaskList();
+        newerTasks.addTask(new Todo("return book"));
+        newerTasks.addTask(new Todo("water plants"));
+        new Storage(file.toString()).save(newerTasks);
+        Files.setLastModifiedTime(tempDir.resolve("fluffy.txt.segments/manifest"), FileTime.fromMillis(0));
+
+        assertEquals(newerTasks.getTasks().toString(), new SegmentedStorage(file.toString()).load().toString());
+    }
+
+    private static Set<String> listSegments(String filePath) throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(filePath + ".segments"))) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith("segment-"))
+                    .collect(Collectors.toSet());
+        }
+    }
+}
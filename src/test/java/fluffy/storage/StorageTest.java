@@ -0,0 +1,170 @@
+package fluffy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import fluffy.FluffyException;
+import fluffy.task.Deadline;
+import fluffy.task.Event;
+import fluffy.task.Task;
+import fluffy.task.Todo;
+import fluffy.tasklist.TaskList;
+
+public class StorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_binaryFile_sameTasksAsSaved() throws FluffyException {
+        Storage storage = new Storage(tempDir.resolve("fluffy.bin").toString());
+        storage.save(createTasks());
+
+        List<Task> loaded = storage.load();
+        assertEquals(3, loaded.size());
+        assertEquals(createTasks().getTasks().toString(), loaded.toString());
+        assertTrue(loaded.get(0).isDone());
+    }
+
+    @Test
+    public void load_binaryFile_doneDatesKept() throws FluffyException {
+        Storage storage = new Storage(tempDir.resolve("fluffy.bin").toString());
+        TaskList tasks = createTasks();
+        tasks.getTask(1).markAsDone(LocalDate.of(2023, 9, 1));
+        storage.save(tasks);
+
+        List<Task> loaded = storage.load();
+        assertEquals(null, loaded.get(0).getDoneDate());
+        assertEquals(LocalDate.of(2023, 9, 1), loaded.get(1).getDoneDate());
+        assertEquals(null, loaded.get(2).getDoneDate());
+    }
+
+    @Test
+    public void load_onlyTextFileExists_textFileConverted() throws FluffyException {
+        new Storage(tempDir.resolve("fluffy.txt").toString()).save(createTasks());
+
+        Storage binaryStorage = new Storage(tempDir.resolve("fluffy.bin").toString());
+        TaskList tasks = new TaskList(binaryStorage.load());
+        binaryStorage.save(tasks);
+        assertEquals(createTasks().getTasks().toString(), binaryStorage.load().toString());
+        assertFalse(Files.exists(tempDir.resolve("fluffy.txt")));
+        assertTrue(Files.exists(tempDir.resolve("fluffy.txt.converted")));
+    }
+
+    @Test
+    public void load_textFileNewerThanBinaryFile_textFileLoaded() throws FluffyException, IOException {
+        new Storage(tempDir.resolve("fluffy.bin").toString()).save(createTasks());
+        TaskList newerTasks = createTasks();
+        newerTasks.addTask(new Todo("water plants"));
+        new Storage(tempDir.resolve("fluffy.txt").toString()).save(newerTasks);
+        Files.setLastModifiedTime(tempDir.resolve("fluffy.bin"), FileTime.fromMillis(0));
+
+        assertEquals(newerTasks.getTasks().toString(),
+                new Storage(tempDir.resolve("fluffy.bin").toString()).load().toString());
+    }
+
+    @Test
+    public void load_binaryFileWithNegativeCount_exceptionThrown() throws IOException {
+        Files.write(tempDir.resolve("fluffy.bin"), createBinaryHeader(-1).array());
+
+        assertThrows(FluffyException.class, () -> new Storage(tempDir.resolve("fluffy.bin").toString()).load());
+    }
+
+    @Test
+    public void load_binaryFileWithHugeDescriptionLength_exceptionThrown() throws IOException {
+        ByteBuffer contents = createBinaryHeader(1);
+        contents.put((byte) 'T').put((byte) 0).putInt(Integer.MAX_VALUE);
+        Files.write(tempDir.resolve("fluffy.bin"), contents.array());
+
+        assertThrows(FluffyException.class, () -> new Storage(tempDir.resolve("fluffy.bin").toString()).load());
+    }
+
+    @Test
+    public void load_textFileOfManyChunks_orderPreserved() throws FluffyException {
+        Storage storage = new Storage(tempDir.resolve("fluffy.txt").toString());
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 100_000; i++) {
+            tasks.addTask(new Todo("task " + i, i % 2 == 0));
+        }
+        storage.save(tasks);
+
+        List<Task> loaded = storage.load();
+        assertTrue(storage.getLastLoadReport().toString().contains("chunks"));
+        assertEquals(tasks.getSize(), loaded.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals("task " + i, loaded.get(i).getDescription());
+        }
+    }
+
+    @Test
+    public void load_linesAcrossChunkBoundaries_everyTaskDecodedInOrder() throws FluffyException, IOException {
+        int chunkBytes = 1 << 20;
+        StringBuilder contents = new StringBuilder();
+        List<String> descriptions = new ArrayList<>();
+        while (contents.length() < chunkBytes - 100) {
+            appendTodo(contents, descriptions, "task " + descriptions.size(), "\n");
+        }
+        // Ends the first chunk between the carriage return and the newline of a CRLF line.
+        String prefix = "T | T | 1 | ";
+        appendTodo(contents, descriptions, "x".repeat(chunkBytes - 1 - contents.length() - prefix.length()), "\r\n");
+        while (contents.length() < 2 * chunkBytes + 100) {
+            appendTodo(contents, descriptions, "crlf task " + descriptions.size(), "\r\n");
+        }
+        // The second chunk ends in the middle of a line, which moves to it whole.
+        assertTrue(contents.charAt(2 * chunkBytes - 1) != '\n');
+        appendTodo(contents, descriptions, "last task", "");
+        Path path = tempDir.resolve("fluffy.txt");
+        Files.writeString(path, contents);
+
+        Storage storage = new Storage(path.toString());
+        List<Task> loaded = storage.load();
+        assertTrue(storage.getLastLoadReport().toString().contains("3 chunks"));
+        assertEquals(descriptions.size(), loaded.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals(descriptions.get(i), loaded.get(i).getDescription());
+            assertTrue(loaded.get(i).isDone());
+        }
+    }
+
+    @Test
+    public void load_smallFileWithInvalidLine_exceptionThrown() throws IOException {
+        Path path = tempDir.resolve("fluffy.txt");
+        Files.writeString(path, "T | T | 0 | read book\nT | T\n");
+
+        assertThrows(FluffyException.class, () -> new Storage(path.toString()).load());
+    }
+
+    private static void appendTodo(StringBuilder contents, List<String> descriptions, String description,
+            String lineEnd) {
+        contents.append("T | T | 1 | ").append(description).append(lineEnd);
+        descriptions.add(description);
+    }
+
+    private static ByteBuffer createBinaryHeader(int taskCount) {
+        ByteBuffer contents = ByteBuffer.allocate(15);
+        contents.putInt(0x464C4659).put((byte) 2).putInt(taskCount);
+        return contents;
+    }
+
+    private TaskList createTasks() {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("read book", true));
+        tasks.addTask(new Deadline("return book", LocalDate.of(2024, 4, 25)));
+        tasks.addTask(new Event("project meeting", LocalDate.of(2024, 9, 25), LocalDate.of(2024, 9, 26)));
+        return tasks;
+    }
+}
@@ -0,0 +1,96 @@
+package fluffy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import fluffy.FluffyException;
+import fluffy.task.Task;
+import fluffy.task.Todo;
+import fluffy.tasklist.TaskList;
+
+public class TaskArchiveTest {
+    private static final LocalDate TODAY = LocalDate.of(2023, 9, 30);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void archiveTasksDoneBefore_oldAndRecentTasks_onlyOldTasksMoved() throws FluffyException {
+        Storage storage = new Storage(tempDir.resolve("fluffy.txt").toString());
+        TaskList tasks = new TaskList();
+        tasks.addTask(doneTodo("read book", TODAY.minusDays(40)));
+        tasks.addTask(doneTodo("return book", TODAY.minusDays(5)));
+        tasks.addTask(new Todo("buy book", true));
+        tasks.addTask(new Todo("book club"));
+
+        List<Task> archived = storage.getArchive().archiveTasksDoneBefore(tasks, TODAY.minusDays(30));
+        assertEquals("[[T][x] read book]", archived.toString());
+        assertEquals(3, tasks.getSize());
+        assertEquals(TODAY.minusDays(40), storage.getArchive().getTasks().get(0).getDoneDate());
+    }
+
+    @Test
+    public void find_severalAppends_tasksFromEveryAppendFound() throws FluffyException {
+        Storage storage = new Storage(tempDir.resolve("fluffy.txt").toString());
+        TaskArchive archive = storage.getArchive();
+        archive.append(List.of(doneTodo("read book", TODAY), doneTodo("water plants", TODAY)));
+        archive.append(List.of(doneTodo("return book", TODAY)));
+
+        assertEquals("[[T][x] read book, [T][x] return book]", archive.find("book").toString());
+        assertEquals(0, archive.find("T |").size());
+        assertEquals(3, new Storage(tempDir.resolve("fluffy.bin").toString()).getArchive().getTasks().size());
+    }
+
+    @Test
+    public void find_indexedBlocks_onlyBlocksThatMightMatchRead() throws FluffyException, IOException {
+        Storage storage = new Storage(tempDir.resolve("fluffy.txt").toString());
+        TaskArchive archive = new TaskArchive(tempDir.resolve("fluffy.archive.gz").toString(), storage, 10);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(doneTodo("chore " + i, TODAY));
+        }
+        tasks.set(567, doneTodo("pay the plumber", TODAY));
+        archive.append(tasks);
+
+        assertEquals("[[T][x] pay the plumber]", archive.find("plumber").toString());
+        assertEquals(1, archive.getLastReadBlockCount());
+        assertEquals(999, archive.find("chore").size());
+        assertEquals(100, archive.getLastReadBlockCount());
+        Files.delete(tempDir.resolve("fluffy.archive.gz.idx"));
+        assertEquals(999, archive.find("chore").size());
+        assertEquals(0, archive.find("gardener").size());
+        assertEquals(0, archive.getLastReadBlockCount());
+    }
+
+    @Test
+    public void find_indexMissingOrCutShort_everyTaskStillFound() throws FluffyException, IOException {
+        Storage storage = new Storage(tempDir.resolve("fluffy.txt").toString());
+        TaskArchive archive = new TaskArchive(tempDir.resolve("fluffy.archive.gz").toString(), storage, 1);
+        archive.append(List.of(doneTodo("read book", TODAY), doneTodo("return book", TODAY)));
+        Path indexPath = tempDir.resolve("fluffy.archive.gz.idx");
+        byte[] index = Files.readAllBytes(indexPath);
+        Files.write(indexPath, Arrays.copyOf(index, index.length - 1));
+
+        assertEquals(2, archive.find("book").size());
+        archive.append(List.of(doneTodo("buy book", TODAY)));
+        assertEquals(3, archive.find("book").size());
+        Files.delete(indexPath);
+        assertEquals(3, archive.find("book").size());
+    }
+
+    private static Todo doneTodo(String description, LocalDate doneDate) {
+        Todo todo = new Todo(description);
+        todo.markAsDone(doneDate);
+        return todo;
+    }
+}
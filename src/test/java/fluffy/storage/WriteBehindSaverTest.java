@@ -0,0 +1,107 @@
+package fluffy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import fluffy.FluffyException;
+import fluffy.task.Todo;
+import fluffy.tasklist.TaskList;
+
+public class WriteBehindSaverTest {
+
+    @Test
+    public void close_noChanges_nothingSaved() throws FluffyException {
+        CountingStorage storage = new CountingStorage();
+        WriteBehindSaver saver = new WriteBehindSaver(storage, new TaskList(),
+                WriteBehindSaver.Durability.EVERY_COMMAND, 0, message -> { });
+        saver.requestSave(null);
+        saver.close();
+        assertEquals(0, storage.saveCount);
+    }
+
+    @Test
+    public void close_onExitDurability_changesSavedOnce() throws FluffyException {
+        CountingStorage storage = new CountingStorage();
+        TaskList tasks = new TaskList();
+        WriteBehindSaver saver = new WriteBehindSaver(storage, tasks,
+                WriteBehindSaver.Durability.ON_EXIT, 0, message -> { });
+        for (int i = 0; i < 10; i++) {
+            tasks.addTask(new Todo("task " + i));
+            saver.requestSave(null);
+        }
+        assertEquals(0, storage.saveCount);
+        saver.close();
+        assertEquals(1, storage.saveCount);
+    }
+
+    @Test
+    public void close_afterCommands_lastChangingCommandPassedToSave() throws FluffyException {
+        CountingStorage storage = new CountingStorage();
+        TaskList tasks = new TaskList();
+        WriteBehindSaver saver = new WriteBehindSaver(storage, tasks,
+                WriteBehindSaver.Durability.ON_EXIT, 0, message -> { });
+        tasks.addTask(new Todo("read book"));
+        saver.requestSave("TodoCommand");
+        tasks.addTask(new Todo("return book"));
+        saver.requestSave("DeadlineCommand");
+        saver.requestSave("ListCommand");
+        saver.close();
+        assertEquals("DeadlineCommand", storage.lastCommandType);
+    }
+
+    @Test
+    public void requestSave_slowWrite_tasksNotLockedWhileWriting() throws Exception {
+        CountDownLatch isWriting = new CountDownLatch(1);
+        CountDownLatch canFinish = new CountDownLatch(1);
+        TaskList tasks = new TaskList();
+        Storage storage = new Storage("unused") {
+            @Override
+            public PendingSave prepareSave(TaskList tasks, String commandType) {
+                return () -> {
+                    isWriting.countDown();
+                    try {
+                        canFinish.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                };
+            }
+        };
+        WriteBehindSaver saver = new WriteBehindSaver(storage, tasks,
+                WriteBehindSaver.Durability.EVERY_COMMAND, 0, message -> { });
+        tasks.addTask(new Todo("read book"));
+        saver.requestSave(null);
+        isWriting.await();
+
+        Thread command = new Thread(() -> {
+            synchronized (tasks) {
+                tasks.addTask(new Todo("return book"));
+            }
+        });
+        command.start();
+        command.join(5000);
+        assertFalse(command.isAlive());
+        canFinish.countDown();
+        saver.close();
+    }
+
+    private static class CountingStorage extends Storage {
+        private int saveCount;
+        private String lastCommandType;
+
+        CountingStorage() {
+            super("unused");
+        }
+
+        @Override
+        public PendingSave prepareSave(TaskList tasks, String commandType) {
+            saveCount++;
+            lastCommandType = commandType;
+            return PendingSave.NOTHING;
+        }
+    }
+}
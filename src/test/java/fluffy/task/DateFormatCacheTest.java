@@ -0,0 +1,29 @@
+package fluffy.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+public class DateFormatCacheTest {
+
+    @Test
+    public void format_sameDay_cachedStringReused() {
+        LocalDate date = LocalDate.of(2024, 6, 1);
+        String text = DateFormatCache.format(date, Task.DATE_TIME_FORMATTER);
+        assertEquals(date.format(Task.DATE_TIME_FORMATTER), text);
+        assertSame(text, DateFormatCache.format(LocalDate.of(2024, 6, 1), Task.DATE_TIME_FORMATTER));
+    }
+
+    @Test
+    public void format_daysSharingSlot_eachFormattedCorrectly() {
+        LocalDate date = LocalDate.of(2024, 6, 1);
+        LocalDate sameSlotDate = date.plusDays(4096);
+        assertEquals(date.format(Task.DATE_TIME_FORMATTER), DateFormatCache.format(date, Task.DATE_TIME_FORMATTER));
+        assertEquals(sameSlotDate.format(Task.DATE_TIME_FORMATTER),
+                DateFormatCache.format(sameSlotDate, Task.DATE_TIME_FORMATTER));
+        assertEquals(date.format(Task.DATE_TIME_FORMATTER), DateFormatCache.format(date, Task.DATE_TIME_FORMATTER));
+    }
+}
@@ -1,8 +1,11 @@
 package fluffy.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
+
 import org.junit.jupiter.api.Test;
 
 public class TodoTest {
@@ -41,4 +44,27 @@ public class TodoTest {
         Todo todo3 = new Todo(description3);
         assertTrue(todo3.toString().contains(description3));
     }
+
+    @Test
+    public void toString_afterMarkAndUnmark_statusUpdated() {
+        Todo todo = new Todo("description");
+        assertEquals("[T][ ] description", todo.toString());
+        todo.markAsDone();
+        assertEquals("[T][x] description", todo.toString());
+        todo.markAsNotDone();
+        assertEquals("[T][ ] description", todo.toString());
+    }
+
+    @Test
+    public void todoFromFileString_doneFieldWithAndWithoutDate_doneDateKept() {
+        Todo todo = new Todo("description");
+        todo.markAsDone(LocalDate.of(2023, 9, 1));
+        assertEquals("T | 1@2023-09-01 | description", todo.toFileString());
+        assertEquals(LocalDate.of(2023, 9, 1), Todo.todoFromFileString(todo.toFileString()).getDoneDate());
+
+        Todo oldTodo = Todo.todoFromFileString("T | 1 | description");
+        assertTrue(oldTodo.isDone());
+        assertNull(oldTodo.getDoneDate());
+        assertEquals("T | 1 | description", oldTodo.toFileString());
+    }
 }
@@ -0,0 +1,51 @@
+package fluffy.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fluffy.FluffyException;
+import fluffy.task.Deadline;
+import fluffy.task.Event;
+import fluffy.task.Todo;
+
+public class ColumnarTaskStoreTest {
+
+    @Test
+    public void get_storedTasks_sameAsOriginals() {
+        ColumnarTaskStore store = new ColumnarTaskStore(List.of(new Todo("read book", true),
+                new Deadline("return book", LocalDate.of(2023, 9, 1)),
+                new Event("project meeting", LocalDate.of(2023, 9, 2), LocalDate.of(2023, 9, 3))));
+        assertEquals(3, store.size());
+        assertEquals("[T][x] read book", store.get(0).toString());
+        assertEquals("[D][ ] return book (by: Sep 1 2023)", store.get(1).toString());
+        assertEquals("[E][ ] project meeting (from: Sep 2 2023 to: Sep 3 2023)", store.get(2).toString());
+    }
+
+    @Test
+    public void remove_manyTasks_remainingTasksKeepOrderAndDoneFlags() {
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        for (int i = 0; i < 100; i++) {
+            store.add(new Todo("task " + i, i % 3 == 0));
+        }
+        for (int i = 0; i < 50; i++) {
+            store.remove(0);
+        }
+        assertEquals(50, store.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(new Todo("task " + (i + 50), (i + 50) % 3 == 0).toString(), store.get(i).toString());
+        }
+    }
+
+    @Test
+    public void markTask_columnarTaskList_changeWrittenBack() throws FluffyException {
+        TaskList tasks = new TaskList(new ColumnarTaskStore());
+        tasks.addTask(new Deadline("return book", LocalDate.of(2023, 9, 1)));
+        tasks.markTask(0);
+        assertEquals(true, tasks.getTask(0).isDone());
+        assertEquals(0, tasks.findDueBy(LocalDate.of(2023, 9, 1)).getSize());
+    }
+}
@@ -0,0 +1,86 @@
+package fluffy.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import fluffy.FluffyException;
+import fluffy.storage.Storage;
+import fluffy.task.Todo;
+
+public class LazyTaskListTest {
+    private static final String CONTENTS = "T | T | 1 | read book\n"
+            + "D | D | 0 | return book | 2023-09-01\r\n"
+            + "E | E | 0 | book club | 2023-09-02 | 2023-09-03";
+
+    private final Storage storage = new Storage("unused.txt");
+
+    @Test
+    public void get_sameTaskTwice_decodedOnceAsSameObject() throws FluffyException {
+        LazyTaskList tasks = newLazyTaskList(CONTENTS);
+        assertEquals(3, tasks.size());
+        assertEquals(0, tasks.getDecodedCount());
+        assertEquals("[D][ ] return book (by: Sep 1 2023)", tasks.get(1).toString());
+        assertSame(tasks.get(1), tasks.get(1));
+        assertEquals(1, tasks.getDecodedCount());
+    }
+
+    @Test
+    public void findByDescription_keywordInOtherFields_onlyDescriptionsMatchedAndDecoded() throws FluffyException {
+        LazyTaskList tasks = newLazyTaskList(CONTENTS + "\nT | T | 0 | 2023 taxes\nT | T | 0 | caf\u00e9 visit");
+        assertEquals(1, tasks.findByDescription("2023").size());
+        assertEquals(1, tasks.getDecodedCount());
+        assertEquals("[T][ ] caf\u00e9 visit", tasks.findByDescription("\u00e9").get(0).toString());
+        assertEquals(3, tasks.findByDescription("book").size());
+        assertEquals(5, tasks.getDecodedCount());
+    }
+
+    @Test
+    public void encode_afterChanges_untouchedLinesCopiedAsTheyAre() throws FluffyException {
+        TaskList tasks = new TaskList(newLazyTaskList(CONTENTS));
+        tasks.markTask(1);
+        tasks.deleteTask(0);
+        tasks.addTask(new Todo("write review"));
+        String expected = "D | D | 1@" + LocalDate.now() + " | return book | 2023-09-01\n"
+                + "E | E | 0 | book club | 2023-09-02 | 2023-09-03\n"
+                + "T | T | 0 | write review\n";
+        assertEquals(expected, new String(((LazyTaskList) tasks.getTasks()).encode(storage::encodeTask),
+                StandardCharsets.UTF_8));
+        assertEquals(2, ((LazyTaskList) tasks.getTasks()).getDecodedCount());
+    }
+
+    @Test
+    public void constructor_lineWithoutType_exceptionThrown() {
+        assertThrows(FluffyException.class, () -> newLazyTaskList("T | T | 0 | read book\nread book"));
+    }
+
+    @Test
+    public void constructor_lineMissingFields_exceptionThrown() {
+        assertThrows(FluffyException.class, () -> newLazyTaskList("T | T | 0 | read book\nT | T"));
+        assertThrows(FluffyException.class, () -> newLazyTaskList("D | D | 0 | return book"));
+    }
+
+    @Test
+    public void constructor_invalidDate_exceptionThrown() {
+        assertThrows(FluffyException.class, () -> newLazyTaskList("D | D | 0 | return book | 2024-02-30"));
+        assertThrows(FluffyException.class, () -> newLazyTaskList("T | T | 1@yesterday | read book"));
+    }
+
+    @Test
+    public void constructor_validLines_noneDecoded() throws FluffyException {
+        LazyTaskList tasks = newLazyTaskList("T | T | 1@2024-02-29 | read book\nT | T | 0 | \n"
+                + "E | E | 0 | project meeting | 2024-09-25 | 2024-09-26");
+
+        assertEquals(0, tasks.getDecodedCount());
+        assertEquals("", tasks.get(1).getDescription());
+    }
+
+    private LazyTaskList newLazyTaskList(String contents) throws FluffyException {
+        return new LazyTaskList(contents.getBytes(StandardCharsets.UTF_8), storage::decodeTask);
+    }
+}
@@ -0,0 +1,63 @@
+package fluffy.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import fluffy.task.Task;
+import fluffy.task.Todo;
+
+public class PersistentTaskTreeTest {
+
+    @Test
+    public void addRemoveAndSet_randomPositions_sameOrderAsArrayList() {
+        Random random = new Random(42);
+        List<Task> expected = new ArrayList<>();
+        PersistentTaskTree tree = new PersistentTaskTree();
+        for (int i = 0; i < 5000; i++) {
+            int choice = random.nextInt(4);
+            if (expected.isEmpty() || choice < 2) {
+                int index = random.nextInt(expected.size() + 1);
+                Task task = new Todo("task " + i);
+                expected.add(index, task);
+                tree.add(index, task);
+            } else if (choice == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), tree.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                Task task = new Todo("task " + i);
+                assertEquals(expected.set(index, task), tree.set(index, task));
+            }
+        }
+        assertEquals(expected, tree);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), tree.get(i));
+        }
+    }
+
+    @Test
+    public void restore_afterChanges_earlierVersionsUnchanged() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new Todo("task " + i, i % 3 == 0));
+        }
+        PersistentTaskTree tree = new PersistentTaskTree(tasks);
+        PersistentTaskTree.Version original = tree.snapshot();
+        tree.remove(50);
+        tree.add(0, new Todo("first"));
+        PersistentTaskTree.Version changed = tree.snapshot();
+        tree.removeIf(Task::isDone);
+        assertEquals(66, tree.size());
+
+        tree.restore(changed);
+        assertEquals(100, tree.size());
+        assertEquals("first", tree.get(0).getDescription());
+        tree.restore(original);
+        assertEquals(tasks, tree);
+    }
+}
@@ -3,9 +3,15 @@ package fluffy.tasklist;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import fluffy.FluffyException;
+import fluffy.task.Deadline;
+import fluffy.task.Event;
 import fluffy.task.Task;
 import fluffy.task.Todo;
 
@@ -62,4 +68,220 @@ public class TaskListTest {
         tasks.addTask(task);
         assertThrows(FluffyException.class, () -> tasks.getTask(1));
     }
+
+    @Test
+    public void findTasks_keywordInDescriptions_matchingTasksInOrder() throws FluffyException {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("return book"));
+        tasks.addTask(new Todo("buy bread"));
+        tasks.addTask(new Todo("read a book"));
+        assertEquals(2, tasks.findTasks("book").getSize());
+
+        tasks.addTask(new Todo("bookshelf"));
+        tasks.deleteTask(0);
+        TaskList foundTasks = tasks.findTasks("book");
+        assertEquals(2, foundTasks.getSize());
+        assertEquals("read a book", foundTasks.getTask(0).getDescription());
+        assertEquals("bookshelf", foundTasks.getTask(1).getDescription());
+    }
+
+    @Test
+    public void findTasks_shortOrMissingKeyword_sameAsContains() {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("return book"));
+        tasks.addTask(new Todo("buy bread"));
+        assertEquals(2, tasks.findTasks("b").getSize());
+        assertEquals(1, tasks.findTasks("ad").getSize());
+        assertEquals(0, tasks.findTasks("Book").getSize());
+        assertEquals(0, tasks.findTasks("books").getSize());
+    }
+
+    @Test
+    public void findDueBy_deadlinesOnEitherSide_onlyUnfinishedEarlierOnesFound() throws FluffyException {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Deadline("essay", LocalDate.of(2024, 5, 3)));
+        tasks.addTask(new Deadline("quiz", LocalDate.of(2024, 5, 1)));
+        tasks.addTask(new Deadline("exam", LocalDate.of(2024, 5, 4)));
+        tasks.addTask(new Deadline("lab", LocalDate.of(2024, 4, 30), true));
+        tasks.addTask(new Todo("laundry"));
+
+        TaskList dueTasks = tasks.findDueBy(LocalDate.of(2024, 5, 3));
+        assertEquals(2, dueTasks.getSize());
+        assertEquals("quiz", dueTasks.getTask(0).getDescription());
+        assertEquals("essay", dueTasks.getTask(1).getDescription());
+
+        tasks.deleteTask(1);
+        assertEquals(1, tasks.findOverdue(LocalDate.of(2024, 5, 4)).getSize());
+    }
+
+    @Test
+    public void findOverlapping_eventsAroundRange_overlappingEventsFound() throws FluffyException {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Event("before", LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 5)));
+        tasks.addTask(new Event("across", LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 20)));
+        tasks.addTask(new Event("inside", LocalDate.of(2024, 5, 8), LocalDate.of(2024, 5, 9)));
+        tasks.addTask(new Event("after", LocalDate.of(2024, 5, 15), LocalDate.of(2024, 5, 16)));
+        tasks.addTask(new Deadline("essay", LocalDate.of(2024, 5, 10)));
+
+        TaskList foundTasks = tasks.findOverlapping(LocalDate.of(2024, 5, 6), LocalDate.of(2024, 5, 12));
+        assertEquals(3, foundTasks.getSize());
+        assertEquals("essay", foundTasks.getTask(0).getDescription());
+        assertEquals("across", foundTasks.getTask(1).getDescription());
+        assertEquals("inside", foundTasks.getTask(2).getDescription());
+
+        tasks.deleteTask(1);
+        assertEquals(2, tasks.findOverlapping(LocalDate.of(2024, 5, 6), LocalDate.of(2024, 5, 12)).getSize());
+    }
+
+    @Test
+    public void findOverlapping_tasksMarkedAndUnmarked_onlyUnfinishedOnesFound() throws FluffyException {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Event("fair", LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 20)));
+        tasks.addTask(new Deadline("essay", LocalDate.of(2024, 5, 10)));
+        tasks.addTask(new Deadline("lab", LocalDate.of(2024, 5, 11), true));
+        tasks.commitRevision();
+        assertEquals(2, tasks.findOverlapping(LocalDate.of(2024, 5, 6), LocalDate.of(2024, 5, 12)).getSize());
+
+        tasks.markTask(0);
+        tasks.markTask(1);
+        assertEquals(0, tasks.findOverlapping(LocalDate.of(2024, 5, 6), LocalDate.of(2024, 5, 12)).getSize());
+        assertEquals(0, tasks.findDueBy(LocalDate.of(2024, 5, 31)).getSize());
+
+        tasks.unmarkTask(2);
+        TaskList foundTasks = tasks.findOverlapping(LocalDate.of(2024, 5, 6), LocalDate.of(2024, 5, 12));
+        assertEquals(1, foundTasks.getSize());
+        assertEquals("lab", foundTasks.getTask(0).getDescription());
+
+        tasks.undo();
+        TaskList dueTasks = tasks.findDueBy(LocalDate.of(2024, 5, 31));
+        assertEquals(1, dueTasks.getSize());
+        assertEquals("essay", dueTasks.getTask(0).getDescription());
+    }
+
+    @Test
+    public void getStatistics_tasksChanged_countsKeptUpToDate() throws FluffyException {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("laundry"));
+        tasks.addTask(new Todo("groceries"));
+        tasks.addTask(new Deadline("essay", LocalDate.of(2024, 5, 1)));
+        tasks.markTask(0);
+        tasks.markTask(0);
+
+        TaskStatistics statistics = tasks.getStatistics();
+        assertEquals(2, tasks.getTaskBreakdown().get("T"));
+        assertEquals(0.5, statistics.getCompletionRatesByType().get("T"), 0.001);
+        assertEquals(1, statistics.getOverdueCount(LocalDate.of(2024, 5, 2)));
+
+        tasks.markTask(2);
+        assertEquals(0, statistics.getOverdueCount(LocalDate.of(2024, 5, 2)));
+        tasks.unmarkTask(2);
+        assertEquals(1, statistics.getDeadlinesPerWeek(LocalDate.of(2024, 4, 29), 1).get(LocalDate.of(2024, 4, 29)));
+        tasks.deleteTask(2);
+        assertEquals(0, statistics.getOverdueCount(LocalDate.of(2024, 5, 2)));
+        assertEquals(1, tasks.getTaskBreakdown().size());
+    }
+
+    @Test
+    public void deleteTasks_rangeAndList_remainingTasksInOrder() throws FluffyException {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 10; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        BitSet indices = new BitSet();
+        indices.set(2, 6);
+        indices.set(8);
+        List<Task> deletedTasks = tasks.deleteTasks(indices);
+
+        assertEquals(5, deletedTasks.size());
+        assertEquals("task 2", deletedTasks.get(0).getDescription());
+        assertEquals(5, tasks.getSize());
+        assertEquals("task 6", tasks.getTask(2).getDescription());
+        assertEquals("task 9", tasks.getTask(4).getDescription());
+        assertEquals(0, tasks.findTasks("task 8").getSize());
+    }
+
+    @Test
+    public void deleteTasks_indexOutOfBounds_nothingDeleted() {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("task"));
+        BitSet indices = new BitSet();
+        indices.set(0, 2);
+        assertThrows(FluffyException.class, () -> tasks.deleteTasks(indices));
+        assertEquals(1, tasks.getSize());
+    }
+
+    @Test
+    public void purgeDoneTasks_markedTasks_onlyDoneTasksRemoved() throws FluffyException {
+        TaskList tasks = new TaskList(new ColumnarTaskStore());
+        for (int i = 0; i < 6; i++) {
+            tasks.addTask(new Todo("task " + i));
+        }
+        BitSet indices = new BitSet();
+        indices.set(1);
+        indices.set(3, 5);
+        tasks.markTasks(indices);
+        List<Task> purgedTasks = tasks.purgeDoneTasks();
+
+        assertEquals(3, purgedTasks.size());
+        assertEquals(3, tasks.getSize());
+        assertEquals("task 5", tasks.getTask(2).getDescription());
+        assertEquals(3, tasks.getTaskBreakdown().get("T"));
+    }
+
+    @Test
+    public void undo_addDeleteAndMark_eachCommandTakenBack() throws FluffyException {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("read book"));
+        tasks.addTask(new Todo("return book"));
+        tasks.commitRevision();
+        tasks.markTask(1);
+        tasks.deleteTask(0);
+        tasks.commitRevision();
+        assertEquals(1, tasks.findTasks("book").getSize());
+
+        assertEquals(2, tasks.undo());
+        assertEquals("[[T][ ] read book, [T][ ] return book]", tasks.getTasks().toString());
+        assertEquals(2, tasks.findTasks("book").getSize());
+        assertEquals(0.0, tasks.getStatistics().getCompletionRatesByType().get("T"));
+        assertEquals(2, tasks.undo());
+        assertEquals(0, tasks.getSize());
+        assertEquals(0, tasks.undo());
+
+        assertEquals(2, tasks.redo());
+        assertEquals(2, tasks.redo());
+        assertEquals("[[T][x] return book]", tasks.getTasks().toString());
+        assertEquals(0, tasks.redo());
+    }
+
+    @Test
+    public void undo_columnarStoreAfterPurge_tasksPutBackInPlace() throws FluffyException {
+        TaskList tasks = new TaskList(new ColumnarTaskStore());
+        for (int i = 0; i < 5; i++) {
+            tasks.addTask(new Todo("task " + i, i % 2 == 1));
+        }
+        tasks.commitRevision();
+        tasks.purgeDoneTasks();
+        tasks.commitRevision();
+        tasks.undo();
+        assertEquals(5, tasks.getSize());
+        assertEquals("[T][x] task 3", tasks.getTask(3).toString());
+
+        tasks.addTask(new Todo("task 5"));
+        tasks.commitRevision();
+        assertEquals(0, tasks.redo());
+    }
+
+    @Test
+    public void setUndoLimit_moreCommandsThanLimit_oldestForgotten() {
+        TaskList tasks = new TaskList();
+        tasks.setUndoLimit(2);
+        for (int i = 0; i < 5; i++) {
+            tasks.addTask(new Todo("task " + i));
+            tasks.commitRevision();
+        }
+        assertEquals(1, tasks.undo());
+        assertEquals(1, tasks.undo());
+        assertEquals(0, tasks.undo());
+        assertEquals(3, tasks.getSize());
+    }
 }
@@ -0,0 +1,61 @@
+package fluffy.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import fluffy.FluffyException;
+
+public class ChatTranscriptTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void read_appendedMessages_sameTextAndSpeaker() throws FluffyException, IOException {
+        try (ChatTranscript transcript = new ChatTranscript(tempDir.resolve("chat.transcript"))) {
+            transcript.append("todo read book", true, false);
+            transcript.append("Got it. I've added this task:\n[T][ ] read book", false, false);
+            transcript.append("list caf\u00e9", true, false);
+
+            List<ChatMessage> messages = transcript.read(1, 3);
+            assertEquals(3, transcript.size());
+            assertEquals(2, messages.size());
+            assertEquals("Got it. I've added this task:\n[T][ ] read book", messages.get(0).getText());
+            assertEquals(false, messages.get(0).isFromUser());
+            assertEquals(2, messages.get(1).getIndex());
+            assertEquals("list caf\u00e9", messages.get(1).getText());
+        }
+    }
+
+    @Test
+    public void read_nodeMessage_textRenderingReadBack() throws FluffyException, IOException {
+        try (ChatTranscript transcript = new ChatTranscript(tempDir.resolve("chat.transcript"))) {
+            transcript.append("list", true, false);
+            transcript.append("1. [T][ ] read book\n2. [T][x] return book", false, true);
+
+            List<ChatMessage> messages = transcript.read(0, 2);
+            assertEquals(2, messages.size());
+            assertEquals("1. [T][ ] read book\n2. [T][x] return book", messages.get(1).getText());
+            assertEquals(false, messages.get(1).isFromUser());
+            assertEquals(null, messages.get(1).getNode());
+        }
+    }
+
+    @Test
+    public void read_manyMessages_anyRangeReadBack() throws FluffyException, IOException {
+        try (ChatTranscript transcript = new ChatTranscript(tempDir.resolve("chat.transcript"))) {
+            for (int i = 0; i < 1000; i++) {
+                transcript.append("message " + i, i % 2 == 0, false);
+            }
+            List<ChatMessage> messages = transcript.read(950, 1000);
+            assertEquals(50, messages.size());
+            assertEquals("message 950", messages.get(0).getText());
+            assertEquals("message 999", messages.get(49).getText());
+        }
+    }
+}